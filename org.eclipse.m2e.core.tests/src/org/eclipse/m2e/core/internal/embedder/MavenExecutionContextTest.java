@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.embedder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.eclipse.m2e.core.embedder.IMavenExecutionContext;
+import org.eclipse.m2e.tests.common.AbstractMavenProjectTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MavenExecutionContextTest extends AbstractMavenProjectTestCase {
+
+  private File basedir;
+
+  @Before
+  public void createMultiModuleProjectDirectory() throws Exception {
+    basedir = Files.createTempDirectory(getClass().getSimpleName()).toFile().getCanonicalFile();
+    Files.writeString(basedir.toPath().resolve("settings-a.xml"), "<settings/>");
+    Files.writeString(basedir.toPath().resolve("settings-b.xml"), "<settings/>");
+    Files.createDirectories(basedir.toPath().resolve(".mvn"));
+    writeMavenConfig("-s settings-a.xml");
+  }
+
+  @After
+  public void deleteMultiModuleProjectDirectory() throws Exception {
+    FileUtils.deleteDirectory(basedir);
+  }
+
+  @Test
+  public void testOutermostRequestHasMultiModuleProjectDirectory() throws Exception {
+    IMavenExecutionContext context = IMavenExecutionContext.of(basedir);
+    File multiModuleProjectDirectory = context.execute(
+        (ctx, monitor) -> ctx.getExecutionRequest().getMultiModuleProjectDirectory(), monitor);
+    assertEquals(basedir, multiModuleProjectDirectory);
+  }
+
+  @Test
+  public void testNestedContextDoesNotRebuildItsRequest() throws Exception {
+    IMavenExecutionContext outer = IMavenExecutionContext.of(basedir);
+    File userSettingsFile = outer.execute((outerContext, outerMonitor) -> {
+      MavenExecutionRequest outerRequest = outerContext.getExecutionRequest();
+      assertEquals(new File(basedir, "settings-a.xml"), outerRequest.getUserSettingsFile());
+
+      // a nested context that re-read maven.config would now pick up the other settings file
+      writeMavenConfig("-s settings-b.xml");
+
+      IMavenExecutionContext nested = IMavenExecutionContext.of(basedir);
+      return nested.execute((nestedContext, nestedMonitor) -> {
+        MavenExecutionRequest nestedRequest = nestedContext.getExecutionRequest();
+        assertNotNull(nestedRequest.getMultiModuleProjectDirectory());
+        assertEquals(outerRequest.getMultiModuleProjectDirectory(), nestedRequest.getMultiModuleProjectDirectory());
+        return nestedRequest.getUserSettingsFile();
+      }, outerMonitor);
+    }, monitor);
+    assertEquals(new File(basedir, "settings-a.xml"), userSettingsFile);
+  }
+
+  private void writeMavenConfig(String content) {
+    File mavenConfig = new File(basedir, ".mvn/maven.config");
+    long lastModified = mavenConfig.lastModified();
+    try {
+      Files.writeString(mavenConfig.toPath(), content);
+    } catch(IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    // make sure the change is detected even on file systems with a coarse timestamp resolution
+    mavenConfig.setLastModified(Math.max(mavenConfig.lastModified(), lastModified + 10_000));
+  }
+}
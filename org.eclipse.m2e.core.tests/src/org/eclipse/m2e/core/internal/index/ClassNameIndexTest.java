@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import org.eclipse.m2e.core.internal.index.ClassNameIndex.ClassMatch;
+import org.eclipse.m2e.core.internal.index.ClassNameIndex.JarClasses;
+import org.junit.Test;
+
+
+public class ClassNameIndexTest {
+
+  @Test
+  public void testRead() throws IOException {
+    Path jar = Files.createTempFile("classes", ".jar");
+    try {
+      try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+        for(String entry : List.of("org/example/Foo.class", "org/example/Foo$Inner.class", "org/example/Bar.class",
+            "org/example/package-info.class", "module-info.class", "Default.class",
+            "META-INF/versions/11/org/example/Foo.class", "org/example/readme.txt")) {
+          out.putNextEntry(new JarEntry(entry));
+          out.closeEntry();
+        }
+      }
+      JarClasses classes = ClassNameIndex.read("org.example:library:1.0", jar.toFile());
+      assertEquals("org.example:library:1.0", classes.versionKey());
+      assertArrayEquals(new String[] {"", "org.example"}, classes.packages());
+      assertArrayEquals(new String[] {"Default"}, classes.classes()[0]);
+      assertArrayEquals(new String[] {"Foo", "Bar"}, classes.classes()[1]);
+    } finally {
+      Files.delete(jar);
+    }
+  }
+
+  @Test
+  public void testFind() {
+    ClassNameIndex index = new ClassNameIndex();
+    index.put(new JarClasses("org.example:a:1.0", 0, new String[] {"org.example.a", "org.example.util"},
+        new String[][] {{"Widget", "WidgetFactory"}, {"Strings"}}));
+    index.put(new JarClasses("org.other:b:1.0", 0, new String[] {"org.other"}, new String[][] {{"widget", "Tool"}}));
+
+    assertEquals(Set.of("org.example:a:1.0/org.example.a.Widget", "org.example:a:1.0/org.example.a.WidgetFactory",
+        "org.other:b:1.0/org.other.widget"), names(index.find("wid")));
+    assertEquals(Set.of("org.example:a:1.0/org.example.a.WidgetFactory"), names(index.find("WidgetF")));
+    assertEquals(Set.of("org.example:a:1.0/org.example.a.Widget", "org.example:a:1.0/org.example.a.WidgetFactory"),
+        names(index.find("ORG.example.Widget")));
+    assertEquals(Set.of("org.example:a:1.0/org.example.util.Strings"), names(index.find("s")));
+    assertTrue(index.find("x").isEmpty());
+
+    index.remove("org.example:a:1.0");
+    assertEquals(Set.of("org.other:b:1.0/org.other.widget"), names(index.find("wid")));
+  }
+
+  @Test
+  public void testFindBeyondShortPositions() {
+    // more packages and more classes per package than fit in 16 bits
+    int count = 0x10000 + 10;
+    String[] packages = new String[count + 1];
+    String[][] classes = new String[count + 1][];
+    for(int i = 0; i < count; i++ ) {
+      packages[i] = "p" + i;
+      classes[i] = new String[] {"C" + i};
+    }
+    packages[count] = "last";
+    classes[count] = new String[count];
+    for(int i = 0; i < count; i++ ) {
+      classes[count][i] = "L" + i;
+    }
+    ClassNameIndex index = new ClassNameIndex();
+    index.put(new JarClasses("org.example:big:1.0", 0, packages, classes));
+
+    assertEquals(Set.of("org.example:big:1.0/p65545.C65545"), names(index.find("c65545")));
+    assertEquals(Set.of("org.example:big:1.0/last.L65545"), names(index.find("l65545")));
+    assertEquals(Set.of("org.example:big:1.0/last.L0"), names(index.find("last.L0")));
+    assertEquals(2 * count, index.find("").size());
+  }
+
+  @Test
+  public void testFindSkipsPackagesWithoutClasses() {
+    ClassNameIndex index = new ClassNameIndex();
+    index.put(new JarClasses("org.example:a:1.0", 0, new String[] {"empty", "org.example", "trailing"},
+        new String[][] {{}, {"Foo"}, {}}));
+    assertEquals(Set.of("org.example:a:1.0/org.example.Foo"), names(index.find("")));
+  }
+
+  @Test
+  public void testLineRoundTrip() {
+    JarClasses classes = new JarClasses("org.example:a:1.0", 42, new String[] {"org.example", "org.example.util"},
+        new String[][] {{"Foo", "Bar"}, {"Strings"}});
+    JarClasses read = ClassNameIndex.fromLine(ClassNameIndex.toLine(classes));
+    assertEquals(classes.versionKey(), read.versionKey());
+    assertEquals(42, read.lastModified());
+    assertArrayEquals(classes.packages(), read.packages());
+    assertArrayEquals(classes.classes(), read.classes());
+
+    JarClasses removed = ClassNameIndex.fromLine(ClassNameIndex.toRemovedLine("org.example:a:1.0"));
+    assertTrue(ClassNameIndex.isRemoved(removed));
+    assertEquals("org.example:a:1.0", removed.versionKey());
+    assertNull(removed.classes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCorruptedLine() {
+    ClassNameIndex.fromLine("org.example:a:1.0\t42\tno-colon");
+  }
+
+  private static Set<String> names(List<ClassMatch> matches) {
+    return matches.stream().map(m -> m.versionKey() + "/" + m.packageName() + "." + m.className())
+        .collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.m2e.core.embedder.IMaven;
+import org.eclipse.m2e.core.internal.index.IndexedVersion.IndexedFile;
+import org.eclipse.m2e.core.internal.index.MatchTyped.MatchType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+
+public class LocalRepositoryIndexTest {
+
+  private Path repository;
+
+  private Path indexFolder;
+
+  private IMaven maven;
+
+  private LocalRepositoryIndex index;
+
+  @Before
+  public void setUp() throws IOException {
+    repository = Files.createTempDirectory("repository");
+    indexFolder = Files.createTempDirectory("index");
+    maven = Mockito.mock(IMaven.class);
+    Mockito.when(maven.getLocalRepositoryPath()).thenReturn(repository.toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if(index != null) {
+      index.deactivate();
+    }
+    FileUtils.deleteDirectory(repository.toFile());
+    FileUtils.deleteDirectory(indexFolder.toFile());
+  }
+
+  @Test
+  public void testReadVersionDirectory() throws IOException {
+    Path directory = install("org.example", "library", "1.0", null, "sources");
+    Files.writeString(directory.resolve("library-1.0.jar.sha1"), sha1(directory.resolve("library-1.0.jar")));
+    Files.writeString(directory.resolve("library-1.0.jar.lastUpdated"), "");
+    Files.writeString(directory.resolve("_remote.repositories"), "");
+
+    IndexedVersion version = IndexedVersion.read(repository, directory);
+
+    assertEquals("org.example:library:1.0", version.getKey());
+    assertEquals("jar", version.packaging());
+    Map<String, IndexedFile> files = version.files().stream()
+        .collect(Collectors.toMap(f -> f.classifier() + "." + f.extension(), f -> f));
+    assertEquals(Set.of("null.pom", "null.jar", "sources.jar"), files.keySet());
+    assertEquals(sha1(directory.resolve("library-1.0.jar")), files.get("null.jar").sha1());
+    assertNull(files.get("sources.jar").sha1());
+  }
+
+  @Test
+  public void testReadNonVersionDirectory() throws IOException {
+    Path directory = install("org.example", "library", "1.0", null);
+    assertNull(IndexedVersion.read(repository, directory.getParent()));
+    Files.delete(directory.resolve("library-1.0.pom"));
+    assertNull(IndexedVersion.read(repository, directory));
+  }
+
+  @Test
+  public void testPackagingOfNestedElementsIsIgnored() throws IOException {
+    Path pom = Files.createTempFile(repository, "nested", ".pom");
+    Files.writeString(pom, """
+        <project>
+          <groupId>org.example</groupId>
+          <build>
+            <plugins>
+              <plugin>
+                <artifactId>some-plugin</artifactId>
+                <configuration>
+                  <packaging>war</packaging>
+                </configuration>
+              </plugin>
+            </plugins>
+          </build>
+          <profiles>
+            <profile>
+              <properties>
+                <packaging>ear</packaging>
+              </properties>
+            </profile>
+          </profiles>
+        </project>
+        """);
+    assertEquals("jar", IndexedVersion.readPackaging(pom));
+
+    Files.writeString(pom, """
+        <project>
+          <properties>
+            <packaging>war</packaging>
+          </properties>
+          <packaging> maven-plugin </packaging>
+        </project>
+        """);
+    assertEquals("maven-plugin", IndexedVersion.readPackaging(pom));
+  }
+
+  @Test
+  public void testLineRoundTrip() throws IOException {
+    Path directory = install("org.example", "library", "1.0", null, "sources", "tests");
+    Files.writeString(directory.resolve("library-1.0.jar.sha1"), sha1(directory.resolve("library-1.0.jar")));
+    IndexedVersion version = IndexedVersion.read(repository, directory);
+
+    assertEquals(version, IndexedVersion.fromLine(version.toLine()));
+
+    IndexedVersion removed = IndexedVersion.fromLine(IndexedVersion.toRemovedLine("org.example", "library", "1.0"));
+    assertTrue(removed.isRemoved());
+    assertEquals(version.getKey(), removed.getKey());
+  }
+
+  @Test
+  public void testSearch() throws IOException {
+    install("org.example.tools", "library-core", "1.0", null);
+    install("org.example.tools", "library-core", "2.0", null);
+    install("org.example.tools", "library-parent", "1.0", "pom");
+    install("com.acme", "acme-plugin", "1.0", "maven-plugin");
+    index = newIndex();
+
+    Map<String, IndexedArtifact> result = index.search(partial("org.example"), IIndex.SEARCH_GROUP);
+    assertEquals(Set.of("org.example.tools:library-core", "org.example.tools:library-parent"), result.keySet());
+    assertEquals(2, result.get("org.example.tools:library-core").getFiles().size());
+
+    // segments of groupIds and artifactIds are searchable too
+    result = index.search(partial("core"), IIndex.SEARCH_ARTIFACT);
+    assertEquals(Set.of("org.example.tools:library-core"), result.keySet());
+
+    result = index.search(partial("lib*ent"), IIndex.SEARCH_ARTIFACT);
+    assertEquals(Set.of("org.example.tools:library-parent"), result.keySet());
+
+    result = index.search(partial("library"), IIndex.SEARCH_PARENTS);
+    assertEquals(Set.of("org.example.tools:library-parent"), result.keySet());
+
+    result = index.search(exact("maven-plugin"), IIndex.SEARCH_PACKAGING);
+    assertEquals(Set.of("com.acme:acme-plugin"), result.keySet());
+
+    Collection<IndexedArtifact> found = index.find(exact("org.example.tools"), exact("library-core"), exact("2.0"),
+        null);
+    assertEquals(1, found.size());
+    assertEquals(List.of("2.0"),
+        found.iterator().next().getFiles().stream().map(f -> f.version).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testSearchSha1() throws Exception {
+    Path directory = install("org.example", "library", "1.0", null);
+    Path jar = directory.resolve("library-1.0.jar");
+    index = newIndex();
+
+    // the checksum of a jar without checksum file is computed by the indexer
+    String sha1 = sha1(jar);
+    Map<String, IndexedArtifact> result = index.search(exact(sha1.substring(0, 10)), IIndex.SEARCH_SHA1);
+    assertEquals(Set.of("org.example:library"), result.keySet());
+    IndexedArtifactFile file = result.get("org.example:library").getFiles().iterator().next();
+    assertEquals("jar", file.type);
+    assertNull(file.classifier);
+
+    File copy = Files.copy(jar, indexFolder.resolve("renamed.jar")).toFile();
+    IndexedArtifactFile identified = index.identify(copy);
+    assertNotNull(identified);
+    assertEquals("library", identified.artifact);
+  }
+
+  @Test
+  public void testIdentifyFileInRepository() throws Exception {
+    Path directory = install("org.example", "library", "1.0", null, "sources");
+    index = newIndex();
+
+    IndexedArtifactFile identified = index.identify(directory.resolve("library-1.0-sources.jar").toFile());
+    assertNotNull(identified);
+    assertEquals("org.example", identified.group);
+    assertEquals("sources", identified.classifier);
+  }
+
+  @Test
+  public void testJournalIsReloaded() throws IOException {
+    install("org.example", "library", "1.0", null);
+    index = newIndex();
+    index.deactivate();
+
+    // a new session loads the journal, the scan only reads changed version directories
+    index = new LocalRepositoryIndex(maven, indexFolder.toFile());
+    assertTrue(index.load());
+    assertFalse(index.load());
+    assertEquals(Set.of("org.example:library"), index.search(partial("library"), IIndex.SEARCH_ARTIFACT).keySet());
+  }
+
+  @Test
+  public void testRemovedVersionsAreDropped() throws IOException {
+    install("org.example", "library", "1.0", null);
+    Path removed = install("org.example", "library", "2.0", null);
+    index = newIndex();
+    index.deactivate();
+
+    FileUtils.deleteDirectory(removed.toFile());
+    index = newIndex();
+    Collection<IndexedArtifact> found = index.find(exact("org.example"), exact("library"), null, null);
+    assertEquals(List.of("1.0"),
+        found.iterator().next().getFiles().stream().map(f -> f.version).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testUpdatedVersionIsReindexed() throws IOException {
+    index = newIndex();
+    assertTrue(index.search(partial("library"), IIndex.SEARCH_ARTIFACT).isEmpty());
+
+    Path directory = install("org.example", "library", "1.0", null);
+    index.update(directory, IndexedVersion.read(repository, directory));
+    assertEquals(Set.of("org.example:library"), index.search(partial("library"), IIndex.SEARCH_ARTIFACT).keySet());
+
+    index.update(directory, null);
+    assertTrue(index.search(partial("library"), IIndex.SEARCH_ARTIFACT).values().stream()
+        .allMatch(a -> a.getFiles().isEmpty()));
+  }
+
+  private LocalRepositoryIndex newIndex() {
+    LocalRepositoryIndex newIndex = new LocalRepositoryIndex(maven, indexFolder.toFile());
+    newIndex.getIndexer().run(new NullProgressMonitor());
+    return newIndex;
+  }
+
+  private Path install(String groupId, String artifactId, String version, String packaging, String... classifiers)
+      throws IOException {
+    Path directory = repository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version);
+    Files.createDirectories(directory);
+    String prefix = artifactId + "-" + version;
+    Files.writeString(directory.resolve(prefix + ".pom"),
+        "<project><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId><version>" + version
+            + "</version>" + (packaging != null ? "<packaging>" + packaging + "</packaging>" : "") + "</project>");
+    if(!"pom".equals(packaging)) {
+      writeJar(directory.resolve(prefix + ".jar"), groupId.replace('.', '/') + "/" + artifactId + "/Main.class");
+    }
+    for(String classifier : classifiers) {
+      writeJar(directory.resolve(prefix + "-" + classifier + ".jar"), "Main.java");
+    }
+    return directory;
+  }
+
+  private static void writeJar(Path jar, String entry) throws IOException {
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+      out.putNextEntry(new JarEntry(entry));
+      out.write(jar.getFileName().toString().getBytes());
+      out.closeEntry();
+    }
+  }
+
+  private static String sha1(Path file) throws IOException {
+    try (var in = Files.newInputStream(file)) {
+      return DigestUtils.sha1Hex(in);
+    }
+  }
+
+  private static SearchExpression partial(String value) {
+    return new MatchTypedStringSearchExpression(value, MatchType.PARTIAL);
+  }
+
+  private static SearchExpression exact(String value) {
+    return new MatchTypedStringSearchExpression(value, MatchType.EXACT);
+  }
+}
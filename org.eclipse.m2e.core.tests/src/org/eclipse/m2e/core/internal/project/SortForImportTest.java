@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.project;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.eclipse.m2e.core.project.MavenProjectInfo;
+import org.junit.Test;
+
+
+public class SortForImportTest {
+
+  @Test
+  public void testUnrelatedProjectsKeepTheirOrder() {
+    MavenProjectInfo c = project("c", null);
+    MavenProjectInfo a = project("a", null);
+    MavenProjectInfo b = project("b", null);
+    assertSorted(List.of(c, a, b), List.of(c, a, b));
+  }
+
+  @Test
+  public void testParentComesFirst() {
+    MavenProjectInfo child = project("child", null);
+    MavenProjectInfo other = project("other", null);
+    MavenProjectInfo parent = project("parent", null);
+    setParent(child, "org.example", "parent");
+    assertSorted(List.of(parent, child, other), List.of(child, other, parent));
+  }
+
+  @Test
+  public void testAggregatorComesFirst() {
+    MavenProjectInfo aggregator = project("aggregator", null);
+    MavenProjectInfo module = project("module", aggregator);
+    MavenProjectInfo other = project("other", null);
+    assertSorted(List.of(aggregator, module, other), List.of(module, other, aggregator));
+  }
+
+  @Test
+  public void testDependencyComesFirst() {
+    MavenProjectInfo app = project("app", null);
+    MavenProjectInfo core = project("core", null);
+    MavenProjectInfo api = project("api", null);
+    addDependency(app, "org.example", "core");
+    // a dependency declared with the groupId of the project
+    addDependency(core, "${project.groupId}", "api");
+    assertSorted(List.of(api, core, app), List.of(app, core, api));
+  }
+
+  @Test
+  public void testInheritedGroupId() {
+    MavenProjectInfo parent = project("parent", null);
+    MavenProjectInfo library = project("library", null);
+    MavenProjectInfo app = project("app", null);
+    setParent(library, "org.example", "parent");
+    library.getModel().setGroupId(null);
+    addDependency(app, "org.example", "library");
+    assertSorted(List.of(parent, library, app), List.of(app, library, parent));
+  }
+
+  @Test
+  public void testProjectsOutsideTheImportAreIgnored() {
+    MavenProjectInfo aggregator = project("aggregator", null);
+    MavenProjectInfo module = project("module", aggregator);
+    MavenProjectInfo app = project("app", null);
+    setParent(app, "org.example", "missing");
+    addDependency(app, "org.example", "aggregator");
+    addDependency(app, "com.acme", "module");
+    assertSorted(List.of(module, app), List.of(module, app));
+  }
+
+  @Test
+  public void testCycleKeepsItsOrder() {
+    MavenProjectInfo a = project("a", null);
+    MavenProjectInfo b = project("b", null);
+    MavenProjectInfo c = project("c", null);
+    addDependency(a, "org.example", "b");
+    addDependency(b, "org.example", "a");
+    addDependency(c, "org.example", "a");
+    // the cycle is broken where it was entered, the projects after it still follow their dependencies
+    assertSorted(List.of(b, a, c), List.of(a, b, c));
+    assertSorted(List.of(a, b, c), List.of(b, c, a));
+    assertSorted(List.of(b, a, c), List.of(c, a, b));
+  }
+
+  @Test
+  public void testSortIsStable() {
+    MavenProjectInfo parent = project("parent", null);
+    MavenProjectInfo x = project("x", null);
+    MavenProjectInfo y = project("y", null);
+    MavenProjectInfo z = project("z", null);
+    setParent(x, "org.example", "parent");
+    setParent(y, "org.example", "parent");
+    setParent(z, "org.example", "parent");
+    assertSorted(List.of(parent, z, y, x), List.of(z, y, parent, x));
+    assertSorted(List.of(parent, x, z, y), List.of(x, z, parent, y));
+  }
+
+  @Test
+  public void testProjectWithoutModel() {
+    MavenProjectInfo noModel = new MavenProjectInfo("nomodel", new File("nomodel/pom.xml"), null, null);
+    MavenProjectInfo a = project("a", null);
+    assertSorted(List.of(noModel, a), List.of(noModel, a));
+  }
+
+  private static void assertSorted(List<MavenProjectInfo> expected, List<MavenProjectInfo> projects) {
+    assertEquals(labels(expected), labels(ProjectConfigurationManager.sortForImport(projects)));
+  }
+
+  private static List<String> labels(List<MavenProjectInfo> projects) {
+    return projects.stream().map(MavenProjectInfo::getLabel).collect(Collectors.toList());
+  }
+
+  private static MavenProjectInfo project(String artifactId, MavenProjectInfo aggregator) {
+    Model model = new Model();
+    model.setGroupId("org.example");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0");
+    return new MavenProjectInfo(artifactId, new File(artifactId, "pom.xml"), model, aggregator);
+  }
+
+  private static void setParent(MavenProjectInfo project, String groupId, String artifactId) {
+    Parent parent = new Parent();
+    parent.setGroupId(groupId);
+    parent.setArtifactId(artifactId);
+    parent.setVersion("1.0");
+    project.getModel().setParent(parent);
+  }
+
+  private static void addDependency(MavenProjectInfo project, String groupId, String artifactId) {
+    Dependency dependency = new Dependency();
+    dependency.setGroupId(groupId);
+    dependency.setArtifactId(artifactId);
+    dependency.setVersion("1.0");
+    project.getModel().addDependency(dependency);
+  }
+}
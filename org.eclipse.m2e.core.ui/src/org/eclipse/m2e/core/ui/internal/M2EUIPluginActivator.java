@@ -53,11 +53,13 @@ import org.codehaus.plexus.util.FileUtils;
 
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
+import org.eclipse.m2e.core.internal.index.IIndex;
 import org.eclipse.m2e.core.internal.jobs.MavenJob;
 import org.eclipse.m2e.core.internal.lifecyclemapping.discovery.IMavenDiscovery;
 import org.eclipse.m2e.core.ui.internal.archetype.ArchetypePlugin;
 import org.eclipse.m2e.core.ui.internal.console.MavenConsoleImpl;
 import org.eclipse.m2e.core.ui.internal.project.MavenUpdateConfigurationChangeListener;
+import org.eclipse.m2e.core.ui.internal.search.util.IndexSearchEngine;
 import org.eclipse.m2e.core.ui.internal.search.util.SearchEngine;
 import org.eclipse.m2e.core.ui.internal.wizards.IMavenDiscoveryUI;
 
@@ -167,7 +169,8 @@ public class M2EUIPluginActivator extends AbstractUIPlugin {
   }
 
   public SearchEngine getSearchEngine(IProject project) {
-    return null; // used to be only Index based search, need to hook other engines
+    IIndex index = MavenPluginActivator.getDefault().getIndex();
+    return index != null ? new IndexSearchEngine(index) : null;
   }
 
   public synchronized IMavenDiscovery getMavenDiscovery() {
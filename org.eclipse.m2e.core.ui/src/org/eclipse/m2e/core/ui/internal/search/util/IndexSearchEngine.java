@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.ui.internal.search.util;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.m2e.core.internal.index.IIndex;
+import org.eclipse.m2e.core.internal.index.IndexedArtifact;
+import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
+import org.eclipse.m2e.core.internal.index.MatchTyped.MatchType;
+import org.eclipse.m2e.core.internal.index.MatchTypedStringSearchExpression;
+import org.eclipse.m2e.core.internal.index.SearchExpression;
+
+
+/**
+ * Search engine answering completion requests from an {@link IIndex}.
+ */
+public class IndexSearchEngine implements SearchEngine {
+  private static final Logger log = LoggerFactory.getLogger(IndexSearchEngine.class);
+
+  private final IIndex index;
+
+  public IndexSearchEngine(IIndex index) {
+    this.index = index;
+  }
+
+  @Override
+  public Collection<String> findGroupIds(String searchExpression, Packaging packaging,
+      ArtifactInfo containingArtifact) {
+    Set<String> groupIds = new TreeSet<>();
+    for(IndexedArtifact artifact : find(partial(searchExpression), null, null, packaging)) {
+      groupIds.add(artifact.getGroupId());
+    }
+    return groupIds;
+  }
+
+  @Override
+  public Collection<String> findArtifactIds(String groupId, String searchExpression, Packaging packaging,
+      ArtifactInfo containingArtifact) {
+    Set<String> artifactIds = new TreeSet<>();
+    for(IndexedArtifact artifact : find(exact(groupId), partial(searchExpression), null, packaging)) {
+      artifactIds.add(artifact.getArtifactId());
+    }
+    return artifactIds;
+  }
+
+  @Override
+  public Collection<String> findVersions(String groupId, String artifactId, String searchExpression,
+      Packaging packaging) {
+    Set<IndexedArtifactFile> files = new TreeSet<>(IndexedArtifact.FILE_INFO_COMPARATOR);
+    for(IndexedArtifact artifact : find(exact(groupId), exact(artifactId), partial(searchExpression), packaging)) {
+      files.addAll(artifact.getFiles());
+    }
+    // newest first
+    Set<String> versions = new LinkedHashSet<>();
+    for(IndexedArtifactFile file : files) {
+      versions.add(file.version);
+    }
+    return versions;
+  }
+
+  @Override
+  public Collection<String> findClassifiers(String groupId, String artifactId, String version, String prefix,
+      Packaging packaging) {
+    Set<String> classifiers = new TreeSet<>();
+    for(IndexedArtifactFile file : findFiles(groupId, artifactId, version, packaging)) {
+      if(file.classifier != null && (prefix == null || file.classifier.startsWith(prefix))) {
+        classifiers.add(file.classifier);
+      }
+    }
+    return classifiers;
+  }
+
+  @Override
+  public Collection<String> findTypes(String groupId, String artifactId, String version, String prefix,
+      Packaging packaging) {
+    Set<String> types = new TreeSet<>();
+    for(IndexedArtifactFile file : findFiles(groupId, artifactId, version, packaging)) {
+      if(file.type != null && (prefix == null || file.type.startsWith(prefix))) {
+        types.add(file.type);
+      }
+    }
+    return types;
+  }
+
+  private Collection<IndexedArtifactFile> findFiles(String groupId, String artifactId, String version,
+      Packaging packaging) {
+    Set<IndexedArtifactFile> files = new TreeSet<>(Comparator.comparing((IndexedArtifactFile f) -> f.fname));
+    for(IndexedArtifact artifact : find(exact(groupId), exact(artifactId), exact(version), packaging)) {
+      files.addAll(artifact.getFiles());
+    }
+    return files;
+  }
+
+  private Collection<IndexedArtifact> find(SearchExpression groupId, SearchExpression artifactId,
+      SearchExpression version, Packaging packaging) {
+    try {
+      return index.find(toList(groupId), toList(artifactId), toList(version), toList(toPackaging(packaging)));
+    } catch(CoreException ex) {
+      log.error(ex.getMessage(), ex);
+      return List.of();
+    }
+  }
+
+  private static List<SearchExpression> toList(SearchExpression expression) {
+    return expression != null ? List.of(expression) : List.of();
+  }
+
+  private static SearchExpression toPackaging(Packaging packaging) {
+    if(packaging == Packaging.PLUGIN) {
+      return exact("maven-plugin"); //$NON-NLS-1$
+    } else if(packaging == Packaging.POM) {
+      return exact("pom"); //$NON-NLS-1$
+    }
+    return null;
+  }
+
+  private static SearchExpression exact(String value) {
+    return isEmpty(value) ? null : new MatchTypedStringSearchExpression(value, MatchType.EXACT);
+  }
+
+  private static SearchExpression partial(String value) {
+    return isEmpty(value) ? null : new MatchTypedStringSearchExpression(value, MatchType.PARTIAL);
+  }
+
+  private static boolean isEmpty(String value) {
+    return value == null || value.isBlank();
+  }
+}
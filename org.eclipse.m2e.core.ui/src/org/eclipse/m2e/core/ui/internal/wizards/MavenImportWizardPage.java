@@ -388,6 +388,16 @@ public class MavenImportWizardPage extends AbstractMavenWizardPage {
 
   public void scanProjects() {
     final AbstractProjectScanner<MavenProjectInfo> projectScanner = getProjectScanner();
+    // show the projects as they are found, the final result replaces them
+    List<MavenProjectInfo> foundProjects = new ArrayList<>();
+    projectTreeViewer.setInput(foundProjects);
+    Display display = projectTreeViewer.getControl().getDisplay();
+    projectScanner.setProjectListener(project -> display.asyncExec(() -> {
+      if(!projectTreeViewer.getControl().isDisposed() && projectTreeViewer.getInput() == foundProjects) {
+        foundProjects.add(project);
+        projectTreeViewer.add(foundProjects, project);
+      }
+    }));
     try {
       getWizard().getContainer().run(true, true, monitor -> projectScanner.run(monitor));
 
@@ -425,6 +435,8 @@ public class MavenImportWizardPage extends AbstractMavenWizardPage {
 
     } catch(InterruptedException ex) {
       // canceled
+      projectTreeViewer.setInput(null);
+      setPageComplete();
     } catch(InvocationTargetException ex) {
       Throwable e = ex.getCause() == null ? ex : ex.getCause();
       String msg;
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -67,6 +68,7 @@ import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.internal.index.IIndex;
 import org.eclipse.m2e.core.internal.index.IndexedArtifact;
 import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
+import org.eclipse.m2e.core.internal.index.UserInputSearchExpression;
 import org.eclipse.m2e.core.internal.index.filter.ArtifactFilterManager;
 import org.eclipse.m2e.core.internal.jobs.MavenJob;
 import org.eclipse.m2e.core.ui.internal.M2EUIPluginActivator;
@@ -398,7 +400,6 @@ public class MavenPomSelectionComponent extends Composite {
 
     private String query;
 
-    @SuppressWarnings("unused") //TODO: remove if search-capability is not restored
     private final String field;
 
     private volatile boolean stop = false;
@@ -424,11 +425,21 @@ public class MavenPomSelectionComponent extends Composite {
           || searchResultViewer.getControl().isDisposed()) {
         return Status.CANCEL_STATUS;
       }
-      if(query != null) {
+      IIndex index = MavenPluginActivator.getDefault().getIndex();
+      if(query != null && index != null) {
         String activeQuery = query;
         setResult(IStatus.OK, NLS.bind(Messages.MavenPomSelectionComponent_searching, activeQuery.toLowerCase()), null);
+        try {
+          // the local repository is searched only, remote searches used to be index based as well
+          int classifier = showClassifiers() ? IIndex.SEARCH_ALL : IIndex.SEARCH_JARS;
+          Map<String, IndexedArtifact> result = index.search(new UserInputSearchExpression(activeQuery), field,
+              classifier);
+          setResult(IStatus.OK, NLS.bind(Messages.MavenPomSelectionComponent_results, activeQuery, result.size()),
+              result);
+        } catch(CoreException ex) {
+          setResult(IStatus.ERROR, NLS.bind(Messages.MavenPomSelectionComponent_error, ex.getMessage()), null);
+        }
       }
-      // TODO used to be indexer, replace with Central search
 
       return Status.OK_STATUS;
     }
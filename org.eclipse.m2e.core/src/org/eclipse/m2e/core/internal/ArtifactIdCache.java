@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkUtil;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.internal.jobs.MavenJob;
+
+
+/**
+ * Caches the SHA-1 checksums of files identified by {@link MavenArtifactIdentifier} or the local repository index,
+ * keyed by path, size and modification time, and the artifacts found for a checksum on Maven Central.
+ * <p>
+ * New entries are appended to a journal in the state location a few seconds after they were added, so they survive a
+ * crash. The journal is compacted when it is loaded, dropping superseded entries and checksums of files that no longer
+ * exist.
+ */
+public final class ArtifactIdCache {
+  private static final ILog LOG = Platform.getLog(ArtifactIdCache.class);
+
+  private static final String JOURNAL_FILE = "artifactIdCache.journal"; //$NON-NLS-1$
+
+  /**
+   * the cache file of previous versions, only read to migrate its content
+   */
+  private static final String PROPERTIES_FILE = "artifactIdCache.properties"; //$NON-NLS-1$
+
+  private static final long WRITE_DELAY = 5000L;
+
+  private static final int BUFFER_SIZE = 256 * 1024;
+
+  private static final String SEPARATOR = "\t"; //$NON-NLS-1$
+
+  private static final String ID = "id"; //$NON-NLS-1$
+
+  private static final String FILE = "file"; //$NON-NLS-1$
+
+  private record FileSha1(long size, long lastModified, String sha1) {
+  }
+
+  private static final class InstanceHolder { // only loaded on first use
+    static final ArtifactIdCache INSTANCE = load();
+  }
+
+  private final Path journalFile;
+
+  private final Map<String, Set<ArtifactKey>> ids = new ConcurrentHashMap<>();
+
+  private final Map<Path, FileSha1> sha1s = new ConcurrentHashMap<>();
+
+  private final Queue<String> pendingLines = new ConcurrentLinkedQueue<>();
+
+  private final Job writeJob = new MavenJob(Messages.ArtifactIdCache_title) {
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      flush();
+      if(!pendingLines.isEmpty()) {
+        schedule(WRITE_DELAY);
+      }
+      return Status.OK_STATUS;
+    }
+  };
+
+  private ArtifactIdCache(Path journalFile) {
+    this.journalFile = journalFile;
+    writeJob.setSystem(true);
+  }
+
+  public static ArtifactIdCache getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * @return the SHA-1 checksum of the given file, only computed if the file was not hashed before or changed since
+   */
+  public String getSha1(Path file) throws IOException {
+    Path path = file.toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    long size = attributes.size();
+    long lastModified = attributes.lastModifiedTime().toMillis();
+    FileSha1 cached = sha1s.get(path);
+    if(cached != null && cached.size() == size && cached.lastModified() == lastModified) {
+      return cached.sha1();
+    }
+    String sha1 = sha1Hex(path);
+    FileSha1 computed = new FileSha1(size, lastModified, sha1);
+    sha1s.put(path, computed);
+    append(toLine(path, computed));
+    return sha1;
+  }
+
+  private static String sha1Hex(Path file) throws IOException {
+    MessageDigest digest = DigestUtils.getSha1Digest();
+    // large reads into native memory avoid the copying and the small buffer of DigestUtils.sha1Hex(InputStream)
+    ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      while(channel.read(buffer) >= 0) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * @return the artifacts known for the given checksum, computed by the given function if they are not known yet
+   */
+  Set<ArtifactKey> computeIfAbsent(String sha1, Function<String, Set<ArtifactKey>> lookup) {
+    return ids.computeIfAbsent(sha1, h -> {
+      Set<ArtifactKey> keys = lookup.apply(h);
+      append(toLine(h, keys));
+      return keys;
+    });
+  }
+
+  private void append(String line) {
+    pendingLines.add(line);
+    if(writeJob.getState() == Job.NONE) {
+      writeJob.schedule(WRITE_DELAY);
+    }
+  }
+
+  /**
+   * Appends the entries added since the last call to the journal.
+   */
+  synchronized void flush() {
+    if(pendingLines.isEmpty()) {
+      return;
+    }
+    try {
+      Files.createDirectories(journalFile.getParent());
+      try (Writer writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND)) {
+        for(String line = pendingLines.poll(); line != null; line = pendingLines.poll()) {
+          writer.write(line);
+          writer.write('\n');
+        }
+      }
+    } catch(IOException ex) {
+      LOG.error("Failed to persist artifact-id cache", ex);
+    }
+  }
+
+  private static ArtifactIdCache load() {
+    Bundle bundle = FrameworkUtil.getBundle(ArtifactIdCache.class);
+    Path stateLocation = Platform.getStateLocation(bundle).toFile().toPath();
+    ArtifactIdCache cache = new ArtifactIdCache(stateLocation.resolve(JOURNAL_FILE));
+    bundle.getBundleContext().addBundleListener(event -> {
+      if(event.getBundle() == bundle && event.getType() == BundleEvent.STOPPED) { // called e.g. on shutdown
+        cache.writeJob.cancel();
+        cache.flush();
+      }
+    });
+    int lines = cache.readJournal();
+    Path propertiesFile = stateLocation.resolve(PROPERTIES_FILE);
+    boolean migrated = cache.readProperties(propertiesFile);
+    cache.sha1s.keySet().removeIf(path -> !Files.isRegularFile(path));
+    if(migrated || lines > cache.ids.size() + cache.sha1s.size()) {
+      if(cache.compact() && migrated) {
+        // the migrated entries are in the journal now
+        try {
+          Files.delete(propertiesFile);
+        } catch(IOException ex) {
+          LOG.error("Failed to delete migrated artifact-id cache", ex);
+        }
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * @return the number of lines read
+   */
+  private int readJournal() {
+    if(!Files.isRegularFile(journalFile)) {
+      return 0;
+    }
+    int count = 0;
+    try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+      for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+        count++ ;
+        String[] elements = line.split(SEPARATOR, -1);
+        try {
+          if(elements.length == 3 && ID.equals(elements[0])) {
+            ids.put(elements[1], parseArtifactKeys(elements[2]));
+          } else if(elements.length == 5 && FILE.equals(elements[0])) {
+            sha1s.put(Path.of(elements[4]),
+                new FileSha1(Long.parseLong(elements[1]), Long.parseLong(elements[2]), elements[3]));
+          }
+        } catch(IllegalArgumentException ex) {
+          // ignore corrupted line, e.g. from a crash while writing
+        }
+      }
+    } catch(IOException ex) {
+      LOG.error("Failed to load artifact-id cache", ex);
+    }
+    return count;
+  }
+
+  /**
+   * Reads the cache file written by previous versions.
+   *
+   * @return <code>true</code> if the file was read
+   */
+  private boolean readProperties(Path propertiesFile) {
+    if(!Files.isRegularFile(propertiesFile)) {
+      return false;
+    }
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(propertiesFile)) {
+      properties.load(in);
+      properties.forEach((sha1, keys) -> ids.putIfAbsent(sha1.toString(), parseArtifactKeys((String) keys)));
+      return true;
+    } catch(IOException | IllegalArgumentException ex) {
+      LOG.error("Failed to load artifact-id cache", ex);
+      return false;
+    }
+  }
+
+  /**
+   * @return <code>true</code> if the compacted journal was written
+   */
+  private synchronized boolean compact() {
+    List<String> lines = new ArrayList<>(ids.size() + sha1s.size());
+    ids.forEach((sha1, keys) -> lines.add(toLine(sha1, keys)));
+    sha1s.forEach((path, sha1) -> lines.add(toLine(path, sha1)));
+    try {
+      Files.createDirectories(journalFile.getParent());
+      Path tmp = journalFile.resolveSibling(journalFile.getFileName() + ".tmp"); //$NON-NLS-1$
+      try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+        for(String line : lines) {
+          out.write(line);
+          out.write('\n');
+        }
+      }
+      Files.move(tmp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      return true;
+    } catch(IOException ex) {
+      LOG.error("Failed to persist artifact-id cache", ex);
+      return false;
+    }
+  }
+
+  private static String toLine(String sha1, Set<ArtifactKey> keys) {
+    return ID + SEPARATOR + sha1 + SEPARATOR + persistArtifactKeys(keys);
+  }
+
+  private static String toLine(Path path, FileSha1 sha1) {
+    return FILE + SEPARATOR + sha1.size() + SEPARATOR + sha1.lastModified() + SEPARATOR + sha1.sha1() + SEPARATOR
+        + path;
+  }
+
+  private static Set<ArtifactKey> parseArtifactKeys(String value) {
+    if(value.isBlank()) {
+      return Set.of();
+    }
+    String[] elements = value.strip().split(",");
+    return Arrays.stream(elements).map(ArtifactKey::fromPortableString).collect(Collectors.toSet());
+  }
+
+  private static String persistArtifactKeys(Set<ArtifactKey> keys) {
+    return keys.stream().map(ArtifactKey::toPortableString).collect(Collectors.joining(","));
+  }
+}
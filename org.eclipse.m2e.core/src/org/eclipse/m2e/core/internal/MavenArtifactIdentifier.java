@@ -16,8 +16,6 @@ package org.eclipse.m2e.core.internal;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -27,21 +25,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
-import org.osgi.framework.Bundle;
-import org.osgi.framework.BundleEvent;
-import org.osgi.framework.FrameworkUtil;
-
-import org.apache.commons.codec.digest.DigestUtils;
-
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -60,6 +57,11 @@ import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.embedder.IMaven;
+import org.eclipse.m2e.core.internal.index.IIndex;
+import org.eclipse.m2e.core.internal.index.IndexedArtifact;
+import org.eclipse.m2e.core.internal.index.IndexedArtifactFile;
+import org.eclipse.m2e.core.internal.index.MatchTyped.MatchType;
+import org.eclipse.m2e.core.internal.index.MatchTypedStringSearchExpression;
 import org.eclipse.m2e.core.internal.preferences.MavenPreferenceConstants;
 
 
@@ -69,41 +71,141 @@ public class MavenArtifactIdentifier {
 
   private static final ILog LOG = Platform.getLog(MavenArtifactIdentifier.class);
 
+  private static final int IDENTIFY_THREADS = 4;
+
+  private static final Executor EXECUTOR = createExecutor();
+
   public static Collection<ArtifactKey> identify(File classesLocation) {
-    // GAV extracted from pom.properties
+    // GAV extracted from pom.properties or, if there are none, from pom.xml
     Path location = classesLocation.toPath();
-    Set<ArtifactKey> classesArtifacts = MetaInfMavenScanner.scanForPomProperties(location);
-    if(classesArtifacts.isEmpty()) {
-      // GAV extracted from pom.xml
-      classesArtifacts = MetaInfMavenScanner.scanForPomXml(location);
-      if(classesArtifacts.isEmpty() && isQueryCentral()) {
-        // checksum-based lookup in central. This can be really slow and the chances are low that, 
-        // after we havn't found a pom.xml/.properties embedded into the jar that this exact 
-        // same jar is on Maven-Central (jars on central usually have that).
-        classesArtifacts = identifyCentralSearch(location);
+    Set<ArtifactKey> classesArtifacts = MetaInfMavenScanner.scanForArtifacts(location);
+    if(classesArtifacts.isEmpty() && Files.isRegularFile(location)) {
+      MavenPluginActivator activator = MavenPluginActivator.getDefault();
+      IIndex index = activator != null ? activator.getIndex() : null;
+      if(activator != null && isInLocalRepository(activator.getMaven(), location)) {
+        // files in the local repository are identified by their path, e.g. shaded or stripped jars
+        classesArtifacts = identifyLocalRepository(index, classesLocation);
+      } else {
+        String sha1 = computeSha1(location);
+        if(sha1 != null) {
+          // an artifact with the same content in the local repository identifies the file offline
+          classesArtifacts = identifyLocalRepository(index, sha1);
+          if(classesArtifacts.isEmpty() && isQueryCentral()) {
+            // checksum-based lookup in central. This can be really slow and the chances are low that, 
+            // after we havn't found a pom.xml/.properties embedded into the jar that this exact 
+            // same jar is on Maven-Central (jars on central usually have that).
+            classesArtifacts = ArtifactIdCache.getInstance().computeIfAbsent(sha1,
+                h -> MavenArtifactIdentifier.lookUpFileHashOnMavenCentral(h, location));
+          }
+        }
       }
     }
     return classesArtifacts;
   }
 
+  /**
+   * Identifies the given classes locations in parallel, see {@link #identifyAsync(Collection)}.
+   *
+   * @return the artifacts of each of the given classes locations, in their iteration order
+   */
+  public static Map<File, Collection<ArtifactKey>> identify(Collection<File> classesLocations) {
+    Map<File, CompletableFuture<Collection<ArtifactKey>>> identified = identifyAsync(classesLocations);
+    Map<File, Collection<ArtifactKey>> result = new LinkedHashMap<>();
+    try {
+      for(File location : classesLocations) {
+        result.put(location, identified.get(location).get());
+      }
+      return result;
+    } catch(InterruptedException ex) {
+      identified.values().forEach(f -> f.cancel(false));
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    } catch(ExecutionException ex) {
+      identified.values().forEach(f -> f.cancel(false));
+      throw ex.getCause() instanceof RuntimeException runtimeException ? runtimeException
+          : new IllegalStateException(ex.getCause());
+    }
+  }
+
+  /**
+   * Starts to identify the given classes locations in parallel. Identification reads files and may query
+   * search.maven.org, so it runs on threads of its own instead of the common pool.
+   *
+   * @return the pending artifacts of each of the given classes locations, in their iteration order, a location whose
+   *         artifacts are not needed anymore can be cancelled
+   */
+  public static Map<File, CompletableFuture<Collection<ArtifactKey>>> identifyAsync(
+      Collection<File> classesLocations) {
+    Map<File, CompletableFuture<Collection<ArtifactKey>>> identified = new LinkedHashMap<>();
+    for(File location : classesLocations) {
+      identified.computeIfAbsent(location, l -> CompletableFuture.supplyAsync(() -> identify(l), EXECUTOR));
+    }
+    return identified;
+  }
+
+  private static Executor createExecutor() {
+    AtomicInteger count = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(IDENTIFY_THREADS, IDENTIFY_THREADS, 30, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+          Thread thread = new Thread(runnable, "MavenArtifactIdentifier-" + count.incrementAndGet()); //$NON-NLS-1$
+          thread.setDaemon(true);
+          return thread;
+        });
+    // the threads are only kept while classes locations are identified
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   private static boolean isQueryCentral() {
     return InstanceScope.INSTANCE.getNode(IMavenConstants.PLUGIN_ID)
         .getBoolean(MavenPreferenceConstants.P_QUERY_CENTRAL_TO_IDENTIFY_ARTIFACT, false);
   }
 
-  private static Set<ArtifactKey> identifyCentralSearch(Path file) {
-    if(!Files.isRegularFile(file)) {
-      return Set.of();
-    }
-    String sha1;
-    try (InputStream fis = Files.newInputStream(file)) {
-      sha1 = DigestUtils.sha1Hex(fis);
+  private static String computeSha1(Path file) {
+    try {
+      return ArtifactIdCache.getInstance().getSha1(file);
     } catch(IOException ex) {
       LOG.log(Status.error("Failed to compute sha1-hash of file: " + file));
+      return null;
+    }
+  }
+
+  private static boolean isInLocalRepository(IMaven maven, Path file) {
+    String localRepository = maven.getLocalRepositoryPath();
+    return localRepository != null
+        && file.toAbsolutePath().normalize().startsWith(Path.of(localRepository).toAbsolutePath().normalize());
+  }
+
+  private static Set<ArtifactKey> identifyLocalRepository(IIndex index, File file) {
+    if(index == null) {
+      return Set.of();
+    }
+    try {
+      IndexedArtifactFile indexed = index.identify(file);
+      return indexed != null ? Set.of(toArtifactKey(indexed)) : Set.of();
+    } catch(CoreException ex) {
+      LOG.log(ex.getStatus());
       return Set.of();
     }
-    return ArtifactIdCache.IDS.computeIfAbsent(sha1,
-        h -> MavenArtifactIdentifier.lookUpFileHashOnMavenCentral(h, file));
+  }
+
+  private static Set<ArtifactKey> identifyLocalRepository(IIndex index, String sha1) {
+    if(index == null) {
+      return Set.of();
+    }
+    try {
+      Map<String, IndexedArtifact> artifacts = index.search(
+          new MatchTypedStringSearchExpression(sha1, MatchType.EXACT), IIndex.SEARCH_SHA1, IIndex.SEARCH_ALL);
+      return artifacts.values().stream().flatMap(a -> a.getFiles().stream())
+          .map(MavenArtifactIdentifier::toArtifactKey).collect(Collectors.toUnmodifiableSet());
+    } catch(CoreException ex) {
+      LOG.log(ex.getStatus());
+      return Set.of();
+    }
+  }
+
+  private static ArtifactKey toArtifactKey(IndexedArtifactFile file) {
+    return new ArtifactKey(file.group, file.artifact, file.version, file.classifier);
   }
 
   private static Set<ArtifactKey> lookUpFileHashOnMavenCentral(String sha1, Path file) {
@@ -126,56 +228,6 @@ public class MavenArtifactIdentifier {
     }
   }
 
-  private static class ArtifactIdCache { // encapsulated in an inner-class to have it loaded only if searching Central is enabled
-    static final Map<String, Set<ArtifactKey>> IDS = loadCachedIds();
-
-    private static Map<String, Set<ArtifactKey>> loadCachedIds() {
-      Bundle bundle = FrameworkUtil.getBundle(MavenArtifactIdentifier.class);
-      Path cacheFile = Platform.getStateLocation(bundle).append("artifactIdCache.properties").toFile().toPath();
-      bundle.getBundleContext().addBundleListener(event -> {
-        if(event.getType() == BundleEvent.STOPPED) { // called e.g. on shutdown
-          saveCachedIds(cacheFile);
-        }
-      });
-      if(!Files.exists(cacheFile)) {
-        return new ConcurrentHashMap<>();
-      }
-      Properties persistedCache = new Properties();
-      try (InputStream in = Files.newInputStream(cacheFile)) {
-        persistedCache.load(in);
-      } catch(IOException ex) {
-        LOG.error("Failed to load artifact-id cache", ex);
-      }
-      return persistedCache.entrySet().stream().collect(Collectors.toConcurrentMap(//
-          e -> e.getKey().toString(), //
-          e -> parseArtifactKeys((String) e.getValue())));
-    }
-
-    private static void saveCachedIds(Path cacheFile) {
-      Properties properties = new Properties(IDS.size() * 4 / 3 + 1);
-      IDS.forEach((sha1, keys) -> properties.setProperty(sha1, persistArtifactKeys(keys)));
-
-      try (OutputStream out = Files.newOutputStream(cacheFile)) {
-        properties.store(out, "M2E's cached results for looking up artifact-ids on Maven-Central");
-      } catch(IOException ex) {
-        LOG.error("Failed to persist artifact-id cache", ex);
-      }
-    }
-
-    private static Set<ArtifactKey> parseArtifactKeys(String value) {
-      if(value.isBlank()) {
-        return Set.of();
-      }
-      String[] elements = value.strip().split(",");
-      return Arrays.stream(elements).map(ArtifactKey::fromPortableString).collect(Collectors.toSet());
-    }
-
-    private static String persistArtifactKeys(Set<ArtifactKey> keys) {
-      return keys.stream().map(ArtifactKey::toPortableString).collect(Collectors.joining(","));
-    }
-
-  }
-
   public static Path resolveSourceLocation(ArtifactKey artifact, IProgressMonitor monitor) {
     if(artifact == null) {
       return null;
@@ -90,6 +90,10 @@ public class Messages extends NLS {
 
   public static String LocalProjectScanner_accessDeniedFromFolder;
 
+  public static String LocalRepositoryIndexer_title;
+
+  public static String ArtifactIdCache_title;
+
   public static String LocalProjectScanner_task_scanning;
 
   public static String LocalProjectScanner_missingArtifactId;
@@ -22,6 +22,7 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -30,6 +31,9 @@ import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.eclipse.core.runtime.CoreException;
 
 import org.apache.maven.model.Model;
@@ -175,6 +179,124 @@ public abstract class MetaInfMavenScanner<T> {
 
   protected abstract T visitJarEntry(JarFile jar, JarEntry entry) throws IOException;
 
+  private record ScannedJar(long size, long lastModified, Set<ArtifactKey> artifacts) {
+  }
+
+  /**
+   * Artifacts found in jars, valid as long as the jar has the same size and modification time.
+   */
+  private static final Cache<Path, ScannedJar> scannedJars = CacheBuilder.newBuilder()
+      .maximumSize(Integer.getInteger("m2e.metainfmaven.cache.size", 1000)).build(); //$NON-NLS-1$
+
+  /**
+   * Returns the artifacts described by the META-INF/maven/**&#47;pom.properties files of the given jar or classes
+   * directory or, if there are none, by its pom.xml files. Both kinds of files are collected in one pass over the jar
+   * entries respectively the directory, and the result for a jar is cached until the jar changes.
+   */
+  public static Set<ArtifactKey> scanForArtifacts(Path classesLocation) {
+    if(classesLocation == null) {
+      return Set.of();
+    }
+    try {
+      if(Files.isDirectory(classesLocation)) {
+        List<Path> properties = new ArrayList<>();
+        List<Path> poms = new ArrayList<>();
+        Path metaInfMaven = classesLocation.resolve(META_INF_MAVEN);
+        if(Files.isDirectory(metaInfMaven)) {
+          Files.walkFileTree(metaInfMaven, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+              String name = file.getFileName().toString();
+              if(POM_PROPERTIES.equals(name)) {
+                properties.add(file);
+              } else if(POM_XML.equals(name)) {
+                poms.add(file);
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+              return FileVisitResult.CONTINUE; // ignore unreadable entries, the others still identify the artifact
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+              return FileVisitResult.CONTINUE; // ignore the rest of a directory that could not be listed completely
+            }
+          });
+        }
+        Set<ArtifactKey> artifacts = visitFiles(PROERTIES_SCANNER, properties);
+        return artifacts.isEmpty() ? visitFiles(XML_SCANNER, poms) : artifacts;
+      }
+      BasicFileAttributes attributes = Files.readAttributes(classesLocation, BasicFileAttributes.class);
+      if(!attributes.isRegularFile()) {
+        return Set.of();
+      }
+      Path path = classesLocation.toAbsolutePath().normalize();
+      long lastModified = attributes.lastModifiedTime().toMillis();
+      ScannedJar scanned = scannedJars.getIfPresent(path);
+      if(scanned == null || scanned.size() != attributes.size() || scanned.lastModified() != lastModified) {
+        scanned = new ScannedJar(attributes.size(), lastModified, Collections.unmodifiableSet(scanJar(path)));
+        scannedJars.put(path, scanned);
+      }
+      return scanned.artifacts();
+    } catch(IOException e) {
+      return Set.of();
+    }
+  }
+
+  private static Set<ArtifactKey> scanJar(Path file) throws IOException {
+    List<JarEntry> properties = new ArrayList<>();
+    List<JarEntry> poms = new ArrayList<>();
+    try (JarFile jar = new JarFile(file.toFile())) {
+      for(Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements();) {
+        JarEntry entry = entries.nextElement();
+        String name = entry.getName();
+        if(!entry.isDirectory() && name.startsWith(META_INF_MAVEN)) {
+          if(name.endsWith("/" + POM_PROPERTIES)) {
+            properties.add(entry);
+          } else if(name.endsWith("/" + POM_XML)) {
+            poms.add(entry);
+          }
+        }
+      }
+      Set<ArtifactKey> artifacts = visitJarEntries(PROERTIES_SCANNER, jar, properties);
+      return artifacts.isEmpty() ? visitJarEntries(XML_SCANNER, jar, poms) : artifacts;
+    }
+  }
+
+  private static Set<ArtifactKey> visitFiles(MetaInfMavenScanner<ArtifactKey> scanner, List<Path> files) {
+    Set<ArtifactKey> artifacts = new LinkedHashSet<>();
+    for(Path file : files) {
+      try {
+        ArtifactKey artifact = scanner.visitFile(file);
+        if(artifact != null) {
+          artifacts.add(artifact);
+        }
+      } catch(IOException | IllegalArgumentException e) {
+        // ignore unreadable or malformed files, e.g. invalid escapes in properties
+      }
+    }
+    return artifacts;
+  }
+
+  private static Set<ArtifactKey> visitJarEntries(MetaInfMavenScanner<ArtifactKey> scanner, JarFile jar,
+      List<JarEntry> entries) {
+    Set<ArtifactKey> artifacts = new LinkedHashSet<>();
+    for(JarEntry entry : entries) {
+      try {
+        ArtifactKey artifact = scanner.visitJarEntry(jar, entry);
+        if(artifact != null) {
+          artifacts.add(artifact);
+        }
+      } catch(IOException | IllegalArgumentException e) {
+        // ignore unreadable or malformed files, e.g. invalid escapes in properties
+      }
+    }
+    return artifacts;
+  }
+
   public static Set<ArtifactKey> scanForPomProperties(Path classesLocation) {
     return new LinkedHashSet<>(PROERTIES_SCANNER.scan(classesLocation, POM_PROPERTIES));
   }
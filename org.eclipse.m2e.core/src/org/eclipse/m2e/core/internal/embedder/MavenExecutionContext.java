@@ -31,6 +31,9 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.function.Function;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.transfer.TransferListener;
@@ -95,6 +98,13 @@ public class MavenExecutionContext implements IMavenExecutionContext {
 
   private static final ThreadLocal<Deque<MavenExecutionContext>> threadLocal = new ThreadLocal<>();
 
+  /**
+   * Pre-populated requests new outermost contexts are copied from, keyed by everything they are derived from except the
+   * settings and workspace configuration, that are checked on each use respectively invalidate all templates.
+   */
+  private static final Cache<RequestTemplateKey, RequestTemplate> requestTemplates = CacheBuilder.newBuilder()
+      .maximumSize(Integer.getInteger("m2e.executionrequest.templates.size", 32)).build(); //$NON-NLS-1$
+
   private MavenExecutionRequest request;
 
   private Map<String, Object> context;
@@ -164,10 +174,15 @@ public class MavenExecutionContext implements IMavenExecutionContext {
           .map(mavenCfg -> mavenCfg.getSettingsLocations(workspaceConfiguration))
           .orElseGet(workspaceConfiguration::getSettingsLocations);
       if(request == null) {
-        //create a fresh one ....
-        request = createExecutionRequest(workspaceConfiguration, containerLookup, mavenSettingsLocations,
-            multiModuleProjectDirectory);
+        //create a fresh one from the template matching our configuration....
+        request = DefaultMavenExecutionRequest
+            .copy(getRequestTemplate(workspaceConfiguration, mavenSettingsLocations));
+        //system properties might have changed since the template was created
+        request.setSystemProperties(null);
+        populateSystemProperties(request);
         request.setBaseDirectory(basedir);
+        //DefaultMavenExecutionRequest.copy() does not copy the multi-module directory
+        request.setMultiModuleProjectDirectory(multiModuleProjectDirectory);
       } else {
         //update existing configuration, we might have copied from an outer context here, but if the multi-module directory is different, we need to update some things...
         Settings settings = MavenPlugin.getMaven().getSettings(mavenSettingsLocations);
@@ -184,6 +199,31 @@ public class MavenExecutionContext implements IMavenExecutionContext {
     return request;
   }
 
+  private MavenExecutionRequest getRequestTemplate(IMavenConfiguration workspaceConfiguration,
+      MavenSettingsLocations mavenSettingsLocations) throws CoreException {
+    RequestTemplateKey key = new RequestTemplateKey(containerLookup, multiModuleProjectDirectory,
+        mavenSettingsLocations);
+    Settings settings = MavenPlugin.getMaven().getSettings(mavenSettingsLocations);
+    RequestTemplate template = requestTemplates.getIfPresent(key);
+    if(template == null || template.settings() != settings) {
+      // settings are cached by IMaven and replaced whenever one of the settings files changes
+      template = new RequestTemplate(
+          createExecutionRequest(workspaceConfiguration, containerLookup, mavenSettingsLocations,
+              multiModuleProjectDirectory),
+          settings);
+      requestTemplates.put(key, template);
+    }
+    return template.request();
+  }
+
+  /**
+   * Discards all cached request templates, must be called whenever the configuration the requests are created from
+   * changes.
+   */
+  static void invalidateRequestTemplates() {
+    requestTemplates.invalidateAll();
+  }
+
   private boolean pathEquals(File file1, File file2) {
     if(Objects.equals(file1, file2)) {
       return true;
@@ -595,4 +635,13 @@ public class MavenExecutionContext implements IMavenExecutionContext {
     return new FilterRepositorySystemSession(session, request.isUpdateSnapshots() ? null : updatePolicy);
   }
 
+  private static record RequestTemplateKey(IComponentLookup lookup, File multiModuleProjectDirectory,
+      MavenSettingsLocations settingsLocations) {
+  }
+
+  /**
+   * A request that is never handed out directly but only copied.
+   */
+  private static record RequestTemplate(MavenExecutionRequest request, Settings settings) {
+  }
 }
@@ -36,6 +36,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -157,6 +158,12 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
 
   private static final Logger log = LoggerFactory.getLogger(MavenImpl.class);
 
+  /**
+   * Repository session data key of the plugin artifacts already resolved in a session, see
+   * {@link #resolvePluginArtifacts(Collection, List, IProgressMonitor)}
+   */
+  private static final String SESSION_PLUGIN_ARTIFACTS = MavenImpl.class.getName() + "/pluginArtifacts"; //$NON-NLS-1$
+
   @Reference
   private IMavenConfiguration mavenConfiguration;
 
@@ -328,6 +335,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
   @Override
   public void reloadSettings() throws CoreException {
     settingsCacheMap.clear();
+    MavenExecutionContext.invalidateRequestTemplates();
     Settings reloadedSettings = getSettings(mavenConfiguration.getSettingsLocations());
     for(ISettingsChangeListener listener : settingsListeners) {
       try {
@@ -350,6 +358,8 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
 
   @Override
   public void mavenConfigurationChange(MavenConfigurationChangeEvent event) throws CoreException {
+    // offline state, toolchains and checksum policy are part of the request templates
+    MavenExecutionContext.invalidateRequestTemplates();
     if(MavenPreferenceConstants.P_USER_SETTINGS_FILE.equals(event.key())
         || MavenPreferenceConstants.P_GLOBAL_SETTINGS_FILE.equals(event.key())) {
       reloadSettings();
@@ -496,15 +506,7 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
 
   public Artifact resolve(Artifact artifact, List<ArtifactRepository> remoteRepositories, IProgressMonitor monitor)
       throws CoreException {
-    if(remoteRepositories == null) {
-      try {
-        remoteRepositories = getArtifactRepositories();
-      } catch(CoreException e) {
-        // we've tried
-        remoteRepositories = Collections.emptyList();
-      }
-    }
-    List<ArtifactRepository> repositories = remoteRepositories;
+    List<ArtifactRepository> repositories = getRemoteRepositories(remoteRepositories);
 
     return getExecutionContext().execute((context, pm) -> {
       org.eclipse.aether.RepositorySystem repoSystem = lookup(org.eclipse.aether.RepositorySystem.class);
@@ -550,6 +552,85 @@ public class MavenImpl implements IMaven, IMavenConfigurationChangeListener {
     return resolve(artifact, remoteRepositories, monitor);
   }
 
+  /**
+   * Resolves the artifacts of all given plugins with a single resolution request, so the repository connectors can
+   * download missing artifacts in parallel. Resolved plugin artifacts are remembered in the repository session for the
+   * given repositories, nested execution contexts (e.g. all projects of a registry refresh) therefore resolve each
+   * plugin only once. Plugins that could not be resolved are tried again by the next call.
+   *
+   * @return the resolved plugin artifacts keyed by {@link Plugin#getId()}, plugins that could not be resolved are
+   *         omitted
+   */
+  public Map<String, Artifact> resolvePluginArtifacts(Collection<Plugin> plugins,
+      List<ArtifactRepository> remoteRepositories, IProgressMonitor monitor) throws CoreException {
+    List<ArtifactRepository> repositories = getRemoteRepositories(remoteRepositories);
+    return getExecutionContext().execute((context, pm) -> {
+      @SuppressWarnings("unchecked")
+      Map<String, Artifact> sessionArtifacts = (Map<String, Artifact>) context.getRepositorySession().getData()
+          .computeIfAbsent(SESSION_PLUGIN_ARTIFACTS, ConcurrentHashMap::new);
+      String repositoriesKey = context.getLocalRepository().getBasedir() + repositories.stream()
+          .map(repository -> repository.getId() + '=' + repository.getUrl()).collect(Collectors.joining(",", "[", "]"));
+
+      Map<String, Artifact> toResolve = new LinkedHashMap<>();
+      for(Plugin plugin : plugins) {
+        String key = repositoriesKey + plugin.getId();
+        if(!sessionArtifacts.containsKey(key) && !toResolve.containsKey(key)) {
+          toResolve.put(key, lookup(RepositorySystem.class).createPluginArtifact(plugin));
+        }
+      }
+
+      if(!toResolve.isEmpty()) {
+        org.eclipse.aether.RepositorySystem repoSystem = lookup(org.eclipse.aether.RepositorySystem.class);
+        List<ArtifactRequest> requests = new ArrayList<>(toResolve.size());
+        for(Artifact artifact : toResolve.values()) {
+          requests.add(new ArtifactRequest(RepositoryUtils.toArtifact(artifact), RepositoryUtils.toRepos(repositories),
+              null));
+        }
+        List<ArtifactResult> results;
+        try {
+          results = repoSystem.resolveArtifacts(context.getRepositorySession(), requests);
+        } catch(ArtifactResolutionException ex) {
+          results = ex.getResults();
+        }
+        int i = 0;
+        for(Map.Entry<String, Artifact> entry : toResolve.entrySet()) {
+          ArtifactResult result = results.get(i++ );
+          Artifact artifact = entry.getValue();
+          setLastUpdated(context.getLocalRepository(), repositories, artifact);
+          if(result.isResolved()) {
+            artifact.selectVersion(result.getArtifact().getVersion());
+            artifact.setFile(result.getArtifact().getFile());
+            artifact.setResolved(true);
+            sessionArtifacts.put(entry.getKey(), artifact);
+          } else {
+            log.debug("Could not resolve plugin artifact {}: {}", artifact, result.getExceptions()); //$NON-NLS-1$
+          }
+        }
+      }
+
+      Map<String, Artifact> resolved = new LinkedHashMap<>();
+      for(Plugin plugin : plugins) {
+        Artifact artifact = sessionArtifacts.get(repositoriesKey + plugin.getId());
+        if(artifact != null) {
+          resolved.put(plugin.getId(), artifact);
+        }
+      }
+      return resolved;
+    }, monitor);
+  }
+
+  private List<ArtifactRepository> getRemoteRepositories(List<ArtifactRepository> remoteRepositories) {
+    if(remoteRepositories == null) {
+      try {
+        return getArtifactRepositories();
+      } catch(CoreException e) {
+        // we've tried
+        return Collections.emptyList();
+      }
+    }
+    return remoteRepositories;
+  }
+
   @Override
   public String getArtifactPath(ArtifactRepository repository, String groupId, String artifactId, String version,
       String type, String classifier) throws CoreException {
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -425,6 +426,17 @@ public class PlexusContainerManager {
       }
     }
 
+    @Override
+    public int hashCode() {
+      return Objects.hash(container, lookupRealm);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return this == obj || (obj instanceof PlexusComponentLookup other && container == other.container
+          && lookupRealm == other.lookupRealm);
+    }
+
   }
 
   private static final class ExceptionalLookup implements IComponentLookup {
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+
+/**
+ * Index of the top level classes contained in the jars of the local repository.
+ * <p>
+ * Queries are answered from an immutable snapshot holding the lower case simple names of all classes in one sorted
+ * array, with a parallel array of packed references to the declaring jar and the position of the class in it. A prefix
+ * search is a binary search for the range of matching names. The snapshot is rebuilt in the background after jars were indexed, or
+ * on the next query if that did not happen yet.
+ */
+final class ClassNameIndex {
+
+  private static final String CLASS_SUFFIX = ".class"; //$NON-NLS-1$
+
+  private static final String SEPARATOR = "\t"; //$NON-NLS-1$
+
+  /**
+   * The classes of an indexed jar grouped by package, package names use dots.
+   */
+  record JarClasses(String versionKey, long lastModified, String[] packages, String[][] classes) {
+  }
+
+  /**
+   * A class found by {@link ClassNameIndex#find(String)}.
+   */
+  record ClassMatch(String versionKey, String packageName, String className) {
+  }
+
+  /**
+   * A reference holds the index of the jar in the upper and the position of the class in the jar in the lower 32 bits.
+   * The position of the first class of each package of a jar is in {@code packageStarts}.
+   */
+  private record Snapshot(JarClasses[] jars, int[][] packageStarts, String[] names, long[] references) {
+    static final Snapshot EMPTY = new Snapshot(new JarClasses[0], new int[0][], new String[0], new long[0]);
+  }
+
+  /**
+   * groupId:artifactId:version -> classes of the main jar
+   */
+  private final Map<String, JarClasses> jars = new ConcurrentHashMap<>();
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  private volatile boolean stale;
+
+  JarClasses get(String versionKey) {
+    return jars.get(versionKey);
+  }
+
+  void put(JarClasses classes) {
+    jars.put(classes.versionKey(), classes);
+    stale = true;
+  }
+
+  JarClasses remove(String versionKey) {
+    JarClasses removed = jars.remove(versionKey);
+    if(removed != null) {
+      stale = true;
+    }
+    return removed;
+  }
+
+  void clear() {
+    jars.clear();
+    snapshot = Snapshot.EMPTY;
+    stale = false;
+  }
+
+  Collection<JarClasses> getAll() {
+    return jars.values();
+  }
+
+  int size() {
+    return jars.size();
+  }
+
+  /**
+   * Lists the top level classes of the given jar, skipping multi-release and other META-INF content.
+   */
+  static JarClasses read(String versionKey, File jar) throws IOException {
+    Map<String, List<String>> packages = new TreeMap<>();
+    try (ZipFile zip = new ZipFile(jar)) {
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+      while(entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if(!name.endsWith(CLASS_SUFFIX) || name.startsWith("META-INF/")) { //$NON-NLS-1$
+          continue;
+        }
+        int slash = name.lastIndexOf('/');
+        String className = name.substring(slash + 1, name.length() - CLASS_SUFFIX.length());
+        if(className.indexOf('$') >= 0 || className.equals("package-info") || className.equals("module-info")) { //$NON-NLS-1$ //$NON-NLS-2$
+          continue;
+        }
+        String packageName = slash < 0 ? "" : name.substring(0, slash).replace('/', '.'); //$NON-NLS-1$
+        packages.computeIfAbsent(packageName, p -> new ArrayList<>()).add(className);
+      }
+    }
+    String[] packageNames = packages.keySet().toArray(String[]::new);
+    String[][] classes = new String[packageNames.length][];
+    for(int i = 0; i < packageNames.length; i++ ) {
+      classes[i] = packages.get(packageNames[i]).toArray(String[]::new);
+    }
+    return new JarClasses(versionKey, jar.lastModified(), packageNames, classes);
+  }
+
+  /**
+   * Finds all classes whose simple name starts with the given prefix, ignoring case. If the prefix is qualified, the
+   * package of the classes must start with its qualifier.
+   */
+  List<ClassMatch> find(String prefix) {
+    String packagePrefix = null;
+    int dot = prefix.lastIndexOf('.');
+    if(dot >= 0) {
+      packagePrefix = prefix.substring(0, dot);
+      prefix = prefix.substring(dot + 1);
+    }
+    String name = prefix.toLowerCase();
+    Snapshot current = getSnapshot();
+    List<ClassMatch> result = new ArrayList<>();
+    for(int i = lowerBound(current.names(), name); i < current.names().length
+        && current.names()[i].startsWith(name); i++ ) {
+      long reference = current.references()[i];
+      int jarIndex = (int) (reference >>> 32);
+      int position = (int) reference;
+      JarClasses jar = current.jars()[jarIndex];
+      int[] packageStarts = current.packageStarts()[jarIndex];
+      int packageIndex = packageIndex(packageStarts, position);
+      int classIndex = position - packageStarts[packageIndex];
+      String packageName = jar.packages()[packageIndex];
+      if(packagePrefix != null && !packageName.regionMatches(true, 0, packagePrefix, 0, packagePrefix.length())) {
+        continue;
+      }
+      result.add(new ClassMatch(jar.versionKey(), packageName, jar.classes()[packageIndex][classIndex]));
+    }
+    return result;
+  }
+
+  /**
+   * @return the index of the last package starting at or before the given position, skipping packages without classes
+   */
+  private static int packageIndex(int[] packageStarts, int position) {
+    int low = 0;
+    int high = packageStarts.length;
+    while(low < high) {
+      int mid = (low + high) >>> 1;
+      if(packageStarts[mid] <= position) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - 1;
+  }
+
+  private static int lowerBound(String[] names, String name) {
+    int low = 0;
+    int high = names.length;
+    while(low < high) {
+      int mid = (low + high) >>> 1;
+      if(names[mid].compareTo(name) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Rebuilds the query snapshot if classes were added or removed since it was built.
+   */
+  void refresh() {
+    getSnapshot();
+  }
+
+  private Snapshot getSnapshot() {
+    Snapshot current = snapshot;
+    if(stale) {
+      synchronized(this) {
+        if(stale) {
+          stale = false;
+          current = snapshot = build(jars.values().toArray(JarClasses[]::new));
+        } else {
+          current = snapshot;
+        }
+      }
+    }
+    return current;
+  }
+
+  private static Snapshot build(JarClasses[] jars) {
+    int count = 0;
+    int[][] packageStarts = new int[jars.length][];
+    for(int j = 0; j < jars.length; j++ ) {
+      String[][] classes = jars[j].classes();
+      packageStarts[j] = new int[classes.length];
+      int position = 0;
+      for(int p = 0; p < classes.length; p++ ) {
+        packageStarts[j][p] = position;
+        position = Math.addExact(position, classes[p].length);
+      }
+      count = Math.addExact(count, position);
+    }
+    // equal names share one instance
+    Map<String, String> uniqueNames = new HashMap<>();
+    String[] names = new String[count];
+    long[] references = new long[count];
+    Integer[] order = new Integer[count];
+    int n = 0;
+    for(int j = 0; j < jars.length; j++ ) {
+      String[][] classes = jars[j].classes();
+      for(int p = 0; p < classes.length; p++ ) {
+        for(int c = 0; c < classes[p].length; c++ ) {
+          String lowerCase = classes[p][c].toLowerCase();
+          names[n] = uniqueNames.computeIfAbsent(lowerCase, name -> name);
+          references[n] = ((long) j << 32) | (packageStarts[j][p] + c);
+          order[n] = n;
+          n++ ;
+        }
+      }
+    }
+    String[] sortedNames = new String[n];
+    long[] sortedReferences = new long[n];
+    Integer[] sortedOrder = Arrays.copyOf(order, n);
+    Arrays.sort(sortedOrder, (a, b) -> names[a].compareTo(names[b]));
+    for(int i = 0; i < n; i++ ) {
+      sortedNames[i] = names[sortedOrder[i]];
+      sortedReferences[i] = references[sortedOrder[i]];
+    }
+    return new Snapshot(jars, packageStarts, sortedNames, sortedReferences);
+  }
+
+  /**
+   * @return the line the given classes are persisted as
+   */
+  static String toLine(JarClasses classes) {
+    StringBuilder line = new StringBuilder(classes.versionKey()).append(SEPARATOR).append(classes.lastModified());
+    for(int i = 0; i < classes.packages().length; i++ ) {
+      line.append(SEPARATOR).append(classes.packages()[i]).append(':').append(String.join(",", classes.classes()[i])); //$NON-NLS-1$
+    }
+    return line.toString();
+  }
+
+  static String toRemovedLine(String versionKey) {
+    return versionKey;
+  }
+
+  /**
+   * @return the classes persisted in the given line, or only the version key if the line records a removal
+   * @throws IllegalArgumentException if the line is corrupted
+   */
+  static JarClasses fromLine(String line) {
+    String[] elements = line.split(SEPARATOR);
+    if(elements.length == 1) {
+      return new JarClasses(elements[0], -1, null, null);
+    }
+    String[] packages = new String[elements.length - 2];
+    String[][] classes = new String[packages.length][];
+    for(int i = 0; i < packages.length; i++ ) {
+      String element = elements[i + 2];
+      int colon = element.indexOf(':');
+      if(colon < 0) {
+        throw new IllegalArgumentException(line);
+      }
+      packages[i] = element.substring(0, colon);
+      classes[i] = element.substring(colon + 1).split(","); //$NON-NLS-1$
+    }
+    return new JarClasses(elements[0], Long.parseLong(elements[1]), packages, classes);
+  }
+
+  static boolean isRemoved(JarClasses classes) {
+    return classes.packages() == null;
+  }
+
+  static Path getJar(Path versionDirectory, IndexedVersion version) {
+    for(IndexedVersion.IndexedFile file : version.files()) {
+      if(file.classifier() == null && "jar".equals(file.extension())) { //$NON-NLS-1$
+        return versionDirectory.resolve(version.artifactId() + "-" + version.version() + ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+    }
+    return null;
+  }
+}
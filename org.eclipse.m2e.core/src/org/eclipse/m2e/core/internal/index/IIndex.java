@@ -41,6 +41,11 @@ public interface IIndex {
 
   String SEARCH_SHA1 = "sha1"; //$NON-NLS-1$
 
+  /**
+   * search for classes by (optionally qualified) class name prefix
+   */
+  String SEARCH_CLASS_NAME = "className"; //$NON-NLS-1$
+
   /**
    * like SEARCH_ARTIFACT but will only return artifacts with packaging == pom
    */
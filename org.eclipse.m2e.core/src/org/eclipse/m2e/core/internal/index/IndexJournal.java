@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * An append-only file of index records, one per line. Later lines supersede earlier ones, so the journal is compacted
+ * from time to time by rewriting it with the current records only. Not thread safe.
+ */
+final class IndexJournal {
+  private static final Logger log = LoggerFactory.getLogger(IndexJournal.class);
+
+  private final Path file;
+
+  private Writer writer;
+
+  private int length;
+
+  IndexJournal(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Passes all lines of the journal to the given consumer.
+   */
+  void load(Consumer<String> consumer) {
+    length = 0;
+    if(!Files.isRegularFile(file)) {
+      return;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+        length++ ;
+        consumer.accept(line);
+      }
+    } catch(IOException ex) {
+      log.error("Failed to load index " + file, ex);
+    }
+  }
+
+  /**
+   * @return the number of lines in the journal
+   */
+  int length() {
+    return length;
+  }
+
+  void append(String line) {
+    try {
+      if(writer == null) {
+        Files.createDirectories(file.getParent());
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+      }
+      writer.write(line);
+      writer.write('\n');
+      length++ ;
+    } catch(IOException ex) {
+      log.error("Failed to update index " + file, ex);
+    }
+  }
+
+  void flush() {
+    if(writer != null) {
+      try {
+        writer.flush();
+      } catch(IOException ex) {
+        log.error("Failed to update index " + file, ex);
+      }
+    }
+  }
+
+  void close() {
+    if(writer != null) {
+      try {
+        writer.close();
+      } catch(IOException ex) {
+        log.error("Failed to update index " + file, ex);
+      }
+      writer = null;
+    }
+  }
+
+  /**
+   * Replaces the journal with the given lines.
+   */
+  void compact(Iterable<String> lines) {
+    close();
+    try {
+      Files.createDirectories(file.getParent());
+      Path tmp = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+      int count = 0;
+      try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+        for(String line : lines) {
+          out.write(line);
+          out.write('\n');
+          count++ ;
+        }
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      length = count;
+    } catch(IOException ex) {
+      log.error("Failed to write index " + file, ex);
+    }
+  }
+}
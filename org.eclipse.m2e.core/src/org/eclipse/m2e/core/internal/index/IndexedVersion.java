@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+
+/**
+ * The indexed content of a single <code>groupId/artifactId/version</code> directory of the local repository.
+ *
+ * @param lastModified the modification time of the version directory, the directory is only read again if it changes
+ */
+record IndexedVersion(String groupId, String artifactId, String version, String packaging, long lastModified,
+    List<IndexedFile> files) {
+
+  /**
+   * A file of an indexed version, <code>sha1</code> is <code>null</code> if it is not known.
+   */
+  record IndexedFile(String classifier, String extension, long size, long lastModified, String sha1) {
+  }
+
+  private static final String SEPARATOR = "\t"; //$NON-NLS-1$
+
+  private static final String FILE_SEPARATOR = "|"; //$NON-NLS-1$
+
+  private static final List<String> IGNORED_EXTENSIONS = List.of(".sha1", ".md5", ".sha256", ".sha512", ".asc", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+      ".lastUpdated", ".repositories", ".part", ".lock"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+  String getKey() {
+    return getKey(groupId, artifactId, version);
+  }
+
+  static String getKey(String groupId, String artifactId, String version) {
+    return groupId + ":" + artifactId + ":" + version; //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  /**
+   * Reads the given directory of a local repository, returns <code>null</code> if it is not a version directory, i.e.
+   * does not contain the pom of an artifact.
+   */
+  static IndexedVersion read(Path repositoryBasedir, Path directory) throws IOException {
+    Path relative = repositoryBasedir.relativize(directory);
+    int count = relative.getNameCount();
+    if(count < 3) {
+      return null;
+    }
+    String version = relative.getName(count - 1).toString();
+    String artifactId = relative.getName(count - 2).toString();
+    String groupId = relative.subpath(0, count - 2).toString().replace(File.separatorChar, '.');
+    // timestamped snapshot files are not indexed, only files named after the version of the directory
+    String prefix = artifactId + "-" + version; //$NON-NLS-1$
+    Path pom = directory.resolve(prefix + ".pom"); //$NON-NLS-1$
+    if(!Files.isRegularFile(pom)) {
+      return null;
+    }
+    long lastModified = Files.getLastModifiedTime(directory).toMillis();
+    List<IndexedFile> files = new ArrayList<>();
+    File[] children = directory.toFile().listFiles();
+    if(children != null) {
+      for(File child : children) {
+        String name = child.getName();
+        if(!name.startsWith(prefix) || name.length() == prefix.length() || !child.isFile() || isIgnored(name)) {
+          continue;
+        }
+        String rest = name.substring(prefix.length());
+        String classifier = null;
+        if(rest.charAt(0) == '-') {
+          int dot = rest.indexOf('.');
+          if(dot < 0) {
+            continue;
+          }
+          classifier = rest.substring(1, dot);
+          rest = rest.substring(dot);
+        }
+        if(rest.charAt(0) != '.' || rest.length() == 1) {
+          continue;
+        }
+        files.add(new IndexedFile(classifier, rest.substring(1), child.length(), child.lastModified(),
+            readSha1(new File(child.getPath() + ".sha1")))); //$NON-NLS-1$
+      }
+    }
+    return new IndexedVersion(groupId, artifactId, version, readPackaging(pom), lastModified, List.copyOf(files));
+  }
+
+  private static boolean isIgnored(String name) {
+    for(String extension : IGNORED_EXTENSIONS) {
+      if(name.endsWith(extension)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the packaging of the project element of the given pom, nested elements of e.g. profiles or plugins are not
+   *         considered
+   */
+  static String readPackaging(Path pom) {
+    try (InputStream in = Files.newInputStream(pom)) {
+      XmlPullParser parser = new MXParser();
+      parser.setInput(ReaderFactory.newXmlReader(in));
+      for(int eventType = parser.getEventType(); eventType != XmlPullParser.END_DOCUMENT; eventType = parser.next()) {
+        if(eventType == XmlPullParser.START_TAG && parser.getDepth() == 2 && "packaging".equals(parser.getName())) { //$NON-NLS-1$
+          String packaging = parser.nextText().trim();
+          if(!packaging.isEmpty()) {
+            return packaging;
+          }
+        }
+      }
+    } catch(IOException | XmlPullParserException ex) {
+      // use the default then
+    }
+    return "jar"; //$NON-NLS-1$
+  }
+
+  static String readSha1(File sha1File) {
+    if(!sha1File.isFile()) {
+      return null;
+    }
+    try {
+      String content = Files.readString(sha1File.toPath(), StandardCharsets.US_ASCII).trim();
+      // some repositories append the file name to the checksum
+      int end = 0;
+      while(end < content.length() && Character.digit(content.charAt(end), 16) >= 0) {
+        end++ ;
+      }
+      return end == 40 ? content.substring(0, end).toLowerCase() : null;
+    } catch(IOException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the line this version is persisted as
+   */
+  String toLine() {
+    StringBuilder line = new StringBuilder();
+    line.append(groupId).append(SEPARATOR).append(artifactId).append(SEPARATOR).append(version).append(SEPARATOR)
+        .append(packaging).append(SEPARATOR).append(lastModified);
+    for(IndexedFile file : files) {
+      line.append(SEPARATOR).append(nonNull(file.classifier())).append(FILE_SEPARATOR).append(file.extension())
+          .append(FILE_SEPARATOR).append(file.size()).append(FILE_SEPARATOR).append(file.lastModified())
+          .append(FILE_SEPARATOR).append(nonNull(file.sha1()));
+    }
+    return line.toString();
+  }
+
+  /**
+   * @return the line recording the removal of the given version
+   */
+  static String toRemovedLine(String groupId, String artifactId, String version) {
+    return groupId + SEPARATOR + artifactId + SEPARATOR + version;
+  }
+
+  /**
+   * Parses a line written by {@link #toLine()} or {@link #toRemovedLine(String, String, String)}, the later results in
+   * an {@link IndexedVersion} without packaging.
+   *
+   * @throws IllegalArgumentException if the line is corrupted
+   */
+  static IndexedVersion fromLine(String line) {
+    String[] elements = line.split(SEPARATOR);
+    if(elements.length == 3) {
+      return new IndexedVersion(elements[0], elements[1], elements[2], null, 0, List.of());
+    }
+    if(elements.length < 5) {
+      throw new IllegalArgumentException(line);
+    }
+    List<IndexedFile> files = new ArrayList<>(elements.length - 5);
+    for(int i = 5; i < elements.length; i++ ) {
+      String[] file = elements[i].split(Pattern.quote(FILE_SEPARATOR), -1);
+      if(file.length != 5) {
+        throw new IllegalArgumentException(line);
+      }
+      files.add(new IndexedFile(nullIfEmpty(file[0]), file[1], Long.parseLong(file[2]), Long.parseLong(file[3]),
+          nullIfEmpty(file[4])));
+    }
+    return new IndexedVersion(elements[0], elements[1], elements[2], elements[3], Long.parseLong(elements[4]),
+        List.copyOf(files));
+  }
+
+  boolean isRemoved() {
+    return packaging == null;
+  }
+
+  /**
+   * @return this version with the checksums the given previously indexed version knows for files that did not change
+   *         since
+   */
+  IndexedVersion withKnownSha1s(IndexedVersion previous) {
+    if(previous == null) {
+      return this;
+    }
+    List<IndexedFile> merged = new ArrayList<>(files.size());
+    boolean changed = false;
+    for(IndexedFile file : files) {
+      if(file.sha1() == null) {
+        for(IndexedFile known : previous.files()) {
+          if(known.sha1() != null && Objects.equals(known.classifier(), file.classifier())
+              && known.extension().equals(file.extension()) && known.size() == file.size()
+              && known.lastModified() == file.lastModified()) {
+            file = new IndexedFile(file.classifier(), file.extension(), file.size(), file.lastModified(), known.sha1());
+            changed = true;
+            break;
+          }
+        }
+      }
+      merged.add(file);
+    }
+    return changed ? new IndexedVersion(groupId, artifactId, version, packaging, lastModified, List.copyOf(merged))
+        : this;
+  }
+
+  /**
+   * @return this version with the given checksum of the given file
+   */
+  IndexedVersion withSha1(IndexedFile file, String sha1) {
+    List<IndexedFile> updated = new ArrayList<>(files);
+    updated.replaceAll(f -> f.equals(file)
+        ? new IndexedFile(file.classifier(), file.extension(), file.size(), file.lastModified(), sha1)
+        : f);
+    return new IndexedVersion(groupId, artifactId, version, packaging, lastModified, List.copyOf(updated));
+  }
+
+  private static String nonNull(String value) {
+    return value == null ? "" : value; //$NON-NLS-1$
+  }
+
+  private static String nullIfEmpty(String value) {
+    return value.isEmpty() ? null : value;
+  }
+}
@@ -0,0 +1,747 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.embedder.ILocalRepositoryListener;
+import org.eclipse.m2e.core.embedder.IMaven;
+import org.eclipse.m2e.core.internal.ArtifactIdCache;
+import org.eclipse.m2e.core.internal.index.IndexedVersion.IndexedFile;
+import org.eclipse.m2e.core.internal.index.MatchTyped.MatchType;
+
+
+/**
+ * Index of the artifacts available in the local repository.
+ * <p>
+ * groupIds, artifactIds, their dot and dash separated segments as well as the SHA-1 checksums of the files are kept in
+ * sorted inverted indexes, so searches are answered by prefix range lookups. Checksums are read from checksum files, or
+ * computed in the background for jars installed without one. The classes of main jars are indexed in a
+ * {@link ClassNameIndex}. The index is persisted as an append-only journal
+ * of version directory records that is compacted when it grows larger than the index itself, and kept up to date by
+ * {@link ILocalRepositoryListener} events and a background scan of the local repository.
+ */
+@Component(service = {IIndex.class})
+public class LocalRepositoryIndex implements IIndex, ILocalRepositoryListener {
+  private static final Logger log = LoggerFactory.getLogger(LocalRepositoryIndex.class);
+
+  private static final String INDEX_FOLDER = "localRepositoryIndex"; //$NON-NLS-1$
+
+  private static final Pattern SEGMENT_SEPARATOR = Pattern.compile("[.\\-_]"); //$NON-NLS-1$
+
+  private static final Pattern SHA1_PREFIX = Pattern.compile("[0-9a-f]{4,40}"); //$NON-NLS-1$
+
+  @Reference
+  private IMaven maven;
+
+  private File indexFolder;
+
+  private final LocalRepositoryIndexer indexer = new LocalRepositoryIndexer(this);
+
+  /**
+   * groupId:artifactId:version -> indexed version
+   */
+  private final Map<String, IndexedVersion> versions = new ConcurrentHashMap<>();
+
+  /**
+   * groupId:artifactId -> groupId:artifactId:version
+   */
+  private final Map<String, Set<String>> artifactVersions = new ConcurrentHashMap<>();
+
+  /**
+   * lower case groupId -> groupId:artifactId
+   */
+  private final NavigableMap<String, Set<String>> groupIds = new ConcurrentSkipListMap<>();
+
+  /**
+   * lower case artifactId -> groupId:artifactId
+   */
+  private final NavigableMap<String, Set<String>> artifactIds = new ConcurrentSkipListMap<>();
+
+  /**
+   * lower case groupId, artifactId and their segments -> groupId:artifactId
+   */
+  private final NavigableMap<String, Set<String>> terms = new ConcurrentSkipListMap<>();
+
+  /**
+   * SHA-1 -> groupId:artifactId:version
+   */
+  private final NavigableMap<String, String> sha1s = new ConcurrentSkipListMap<>();
+
+  private volatile Path repositoryBasedir;
+
+  private final ClassNameIndex classNames = new ClassNameIndex();
+
+  private IndexJournal journal;
+
+  private IndexJournal classesJournal;
+
+  /**
+   * versions whose classes need to be indexed (again)
+   */
+  private final Set<String> contentsToIndex = ConcurrentHashMap.newKeySet();
+
+  public LocalRepositoryIndex() {
+  }
+
+  /**
+   * Creates an index of the local repository of the given maven that is persisted in the given folder and not
+   * activated as component, i.e. that is only updated when its indexer runs.
+   */
+  LocalRepositoryIndex(IMaven maven, File indexFolder) {
+    this.maven = maven;
+    this.indexFolder = indexFolder;
+  }
+
+  @Activate
+  void activate(BundleContext bundleContext) {
+    indexFolder = Platform.getStateLocation(bundleContext.getBundle()).append(INDEX_FOLDER).toFile();
+    maven.addLocalRepositoryListener(this);
+    indexer.schedule(5000L);
+  }
+
+  @Deactivate
+  void deactivate() {
+    maven.removeLocalRepositoryListener(this);
+    indexer.cancel();
+    try {
+      indexer.join();
+    } catch(InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized(this) {
+      compact(1);
+      closeJournals();
+    }
+  }
+
+  LocalRepositoryIndexer getIndexer() {
+    return indexer;
+  }
+
+  Path getRepositoryBasedir() {
+    return Paths.get(maven.getLocalRepositoryPath()).toAbsolutePath().normalize();
+  }
+
+  /**
+   * Loads the persisted index of the current local repository, unless it is already loaded.
+   *
+   * @return <code>true</code> if the index was (re)loaded and the local repository needs to be scanned for changes
+   */
+  synchronized boolean load() {
+    Path basedir = getRepositoryBasedir();
+    if(basedir.equals(repositoryBasedir)) {
+      return false;
+    }
+    closeJournals();
+    clear();
+    repositoryBasedir = basedir;
+    String name = DigestUtils.sha1Hex(basedir.toString());
+    journal = new IndexJournal(indexFolder.toPath().resolve(name + ".idx")); //$NON-NLS-1$
+    journal.load(line -> {
+      try {
+        IndexedVersion version = IndexedVersion.fromLine(line);
+        if(version.isRemoved()) {
+          remove(version.getKey());
+        } else {
+          add(version);
+        }
+      } catch(IllegalArgumentException ex) {
+        // ignore corrupted line, e.g. from a crash while writing
+      }
+    });
+    classesJournal = new IndexJournal(indexFolder.toPath().resolve(name + ".classes")); //$NON-NLS-1$
+    classesJournal.load(line -> {
+      try {
+        ClassNameIndex.JarClasses classes = ClassNameIndex.fromLine(line);
+        if(ClassNameIndex.isRemoved(classes)) {
+          classNames.remove(classes.versionKey());
+        } else {
+          classNames.put(classes);
+        }
+      } catch(IllegalArgumentException ex) {
+        // ignore corrupted line
+      }
+    });
+    for(ClassNameIndex.JarClasses classes : List.copyOf(classNames.getAll())) {
+      if(!versions.containsKey(classes.versionKey())) {
+        classNames.remove(classes.versionKey());
+      }
+    }
+    compact(2);
+    return true;
+  }
+
+  @Override
+  public void artifactInstalled(File repositoryBasedir, ArtifactKey baseArtifact, ArtifactKey artifact,
+      File artifactFile) {
+    if(artifactFile != null && artifactFile.getParentFile() != null) {
+      indexer.update(artifactFile.getParentFile().toPath().toAbsolutePath().normalize());
+    }
+  }
+
+  /**
+   * Updates the index with the content of the given version directory, <code>version</code> is <code>null</code> if the
+   * directory no longer contains an artifact.
+   */
+  synchronized void update(Path directory, IndexedVersion version) {
+    if(!directory.startsWith(repositoryBasedir)) {
+      return; // not in the currently indexed repository
+    }
+    if(version == null) {
+      String key = getVersionKey(repositoryBasedir, directory);
+      if(key != null) {
+        removeVersion(key);
+      }
+    } else {
+      IndexedVersion indexed = versions.get(version.getKey());
+      // checksums computed by the index itself are kept for files that did not change
+      version = version.withKnownSha1s(indexed);
+      if(version.equals(indexed)) {
+        return;
+      }
+      remove(version.getKey());
+      add(version);
+      journal.append(version.toLine());
+      contentsToIndex.add(version.getKey());
+    }
+  }
+
+  /**
+   * Removes all versions whose key is not contained in the given set.
+   */
+  synchronized void retainAll(Set<String> keys) {
+    for(String key : List.copyOf(versions.keySet())) {
+      if(!keys.contains(key)) {
+        removeVersion(key);
+      }
+    }
+  }
+
+  private void removeVersion(String key) {
+    IndexedVersion version = remove(key);
+    if(version != null) {
+      journal.append(IndexedVersion.toRemovedLine(version.groupId(), version.artifactId(), version.version()));
+    }
+    if(classNames.remove(key) != null) {
+      classesJournal.append(ClassNameIndex.toRemovedLine(key));
+    }
+  }
+
+  IndexedVersion getIndexedVersion(Path basedir, Path directory) {
+    String key = getVersionKey(basedir, directory);
+    return key != null ? versions.get(key) : null;
+  }
+
+  private static String getVersionKey(Path basedir, Path directory) {
+    Path relative = basedir.relativize(directory);
+    int count = relative.getNameCount();
+    if(count < 3) {
+      return null;
+    }
+    String groupId = relative.subpath(0, count - 2).toString().replace(File.separatorChar, '.');
+    return IndexedVersion.getKey(groupId, relative.getName(count - 2).toString(),
+        relative.getName(count - 1).toString());
+  }
+
+  private void add(IndexedVersion version) {
+    String key = version.getKey();
+    versions.put(key, version);
+    String artifactKey = version.groupId() + ":" + version.artifactId(); //$NON-NLS-1$
+    Set<String> keys = artifactVersions.get(artifactKey);
+    if(keys == null) {
+      keys = ConcurrentHashMap.newKeySet();
+      addTerm(groupIds, version.groupId(), artifactKey);
+      addTerm(artifactIds, version.artifactId(), artifactKey);
+      addTerm(terms, version.groupId(), artifactKey);
+      addTerm(terms, version.artifactId(), artifactKey);
+      for(String segment : SEGMENT_SEPARATOR.split(version.groupId())) {
+        addTerm(terms, segment, artifactKey);
+      }
+      for(String segment : SEGMENT_SEPARATOR.split(version.artifactId())) {
+        addTerm(terms, segment, artifactKey);
+      }
+      artifactVersions.put(artifactKey, keys);
+    }
+    keys.add(key);
+    for(IndexedFile file : version.files()) {
+      if(file.sha1() != null) {
+        sha1s.put(file.sha1(), key);
+      }
+    }
+  }
+
+  private static void addTerm(NavigableMap<String, Set<String>> index, String term, String artifactKey) {
+    if(!term.isEmpty()) {
+      index.computeIfAbsent(term.toLowerCase(), t -> ConcurrentHashMap.newKeySet()).add(artifactKey);
+    }
+  }
+
+  /**
+   * Removes the given version, the terms of its artifact are kept and filtered at query time.
+   */
+  private IndexedVersion remove(String key) {
+    IndexedVersion version = versions.remove(key);
+    if(version != null) {
+      String artifactKey = version.groupId() + ":" + version.artifactId(); //$NON-NLS-1$
+      Set<String> keys = artifactVersions.get(artifactKey);
+      if(keys != null) {
+        keys.remove(key);
+      }
+      for(IndexedFile file : version.files()) {
+        if(file.sha1() != null) {
+          sha1s.remove(file.sha1(), key);
+        }
+      }
+    }
+    return version;
+  }
+
+  private void clear() {
+    versions.clear();
+    artifactVersions.clear();
+    groupIds.clear();
+    artifactIds.clear();
+    terms.clear();
+    sha1s.clear();
+    classNames.clear();
+    contentsToIndex.clear();
+  }
+
+  /**
+   * Computes the checksums of jars without a checksum file and indexes the classes of main jars that are not indexed
+   * yet or changed since.
+   *
+   * @param all if all versions should be checked or only those that changed since the last call
+   */
+  void indexContents(boolean all, IProgressMonitor monitor) {
+    Path basedir = repositoryBasedir;
+    for(String key : List.copyOf(all ? versions.keySet() : contentsToIndex)) {
+      if(monitor.isCanceled()) {
+        return;
+      }
+      contentsToIndex.remove(key);
+      IndexedVersion version = versions.get(key);
+      if(version == null) {
+        continue;
+      }
+      Path directory = basedir.resolve(version.groupId().replace('.', File.separatorChar))
+          .resolve(version.artifactId()).resolve(version.version());
+      indexSha1s(basedir, directory, version);
+      Path jar = ClassNameIndex.getJar(directory, version);
+      if(jar == null) {
+        continue;
+      }
+      ClassNameIndex.JarClasses indexed = classNames.get(key);
+      if(indexed != null && indexed.lastModified() == jar.toFile().lastModified()) {
+        continue;
+      }
+      try {
+        ClassNameIndex.JarClasses classes = ClassNameIndex.read(key, jar.toFile());
+        synchronized(this) {
+          if(versions.containsKey(key) && basedir.equals(repositoryBasedir)) {
+            classNames.put(classes);
+            classesJournal.append(ClassNameIndex.toLine(classes));
+          }
+        }
+      } catch(IOException ex) {
+        log.debug("Failed to index classes of {}", jar, ex); //$NON-NLS-1$
+      }
+    }
+    classNames.refresh();
+  }
+
+  /**
+   * Computes the checksums of the jars of the given version that were installed without a checksum file, e.g. by a
+   * local build, so they can be identified by their content.
+   */
+  private void indexSha1s(Path basedir, Path directory, IndexedVersion version) {
+    for(IndexedFile file : version.files()) {
+      if(file.sha1() != null || !"jar".equals(file.extension())) { //$NON-NLS-1$
+        continue;
+      }
+      String sha1;
+      try (InputStream is = Files.newInputStream(directory.resolve(getFileName(version, file)))) {
+        sha1 = DigestUtils.sha1Hex(is);
+      } catch(IOException ex) {
+        log.debug("Failed to compute the SHA-1 of {}", getFileName(version, file), ex); //$NON-NLS-1$
+        continue;
+      }
+      synchronized(this) {
+        IndexedVersion indexed = versions.get(version.getKey());
+        if(indexed == null || !indexed.files().contains(file) || !basedir.equals(repositoryBasedir)) {
+          return; // changed in the meantime
+        }
+        IndexedVersion updated = indexed.withSha1(file, sha1);
+        remove(updated.getKey());
+        add(updated);
+        journal.append(updated.toLine());
+      }
+    }
+  }
+
+  synchronized void flushJournal() {
+    if(journal != null) {
+      journal.flush();
+      classesJournal.flush();
+    }
+  }
+
+  private void closeJournals() {
+    if(journal != null) {
+      journal.close();
+      classesJournal.close();
+    }
+  }
+
+  /**
+   * Rewrites the journals that are more than <code>factor</code> times larger than the index.
+   */
+  private void compact(int factor) {
+    if(journal == null) {
+      return;
+    }
+    if(journal.length() > factor * versions.size()) {
+      journal.compact(() -> versions.values().stream().map(IndexedVersion::toLine).iterator());
+    }
+    if(classesJournal.length() > factor * classNames.size()) {
+      classesJournal.compact(() -> classNames.getAll().stream()
+          .map(ClassNameIndex::toLine).iterator());
+    }
+  }
+
+  // index queries
+
+  @Override
+  public IndexedArtifactFile getIndexedArtifactFile(ArtifactKey artifact) {
+    IndexedVersion version = versions
+        .get(IndexedVersion.getKey(artifact.groupId(), artifact.artifactId(), artifact.version()));
+    if(version == null) {
+      return null;
+    }
+    IndexedFile match = null;
+    for(IndexedFile file : version.files()) {
+      if(Objects.equals(artifact.classifier(), file.classifier())
+          && (match == null || isMainFile(version, file))) {
+        match = file;
+      }
+    }
+    return match != null ? toIndexedArtifactFile(version, match) : null;
+  }
+
+  @Override
+  public IndexedArtifactFile identify(File file) throws CoreException {
+    Path path = file.toPath().toAbsolutePath().normalize();
+    Path basedir = repositoryBasedir;
+    if(basedir != null && path.startsWith(basedir) && path.getParent() != null) {
+      IndexedVersion version = getIndexedVersion(basedir, path.getParent());
+      if(version != null) {
+        String name = path.getFileName().toString();
+        for(IndexedFile indexed : version.files()) {
+          if(name.equals(getFileName(version, indexed))) {
+            return toIndexedArtifactFile(version, indexed);
+          }
+        }
+      }
+    }
+    if(!file.isFile()) {
+      return null;
+    }
+    String sha1;
+    try {
+      // memoized, e.g. for a timestamped snapshot whose name does not match its version directory
+      sha1 = ArtifactIdCache.getInstance().getSha1(path);
+    } catch(IOException ex) {
+      throw new CoreException(Status.error("Could not calculate SHA-1 of " + file, ex));
+    }
+    String key = sha1s.get(sha1);
+    IndexedVersion version = key != null ? versions.get(key) : null;
+    if(version != null) {
+      for(IndexedFile indexed : version.files()) {
+        if(sha1.equals(indexed.sha1())) {
+          return toIndexedArtifactFile(version, indexed);
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Collection<IndexedArtifact> find(SearchExpression groupId, SearchExpression artifactId,
+      SearchExpression version, SearchExpression packaging) {
+    return find(toList(groupId), toList(artifactId), toList(version), toList(packaging));
+  }
+
+  private static List<SearchExpression> toList(SearchExpression expression) {
+    return expression != null ? List.of(expression) : List.of();
+  }
+
+  @Override
+  public Collection<IndexedArtifact> find(Collection<SearchExpression> groupId, Collection<SearchExpression> artifactId,
+      Collection<SearchExpression> version, Collection<SearchExpression> packaging) {
+    Set<String> candidates = null;
+    if(groupId != null && !groupId.isEmpty()) {
+      candidates = lookup(groupIds, groupId);
+    }
+    if(artifactId != null && !artifactId.isEmpty()) {
+      Set<String> artifacts = lookup(artifactIds, artifactId);
+      if(candidates == null) {
+        candidates = artifacts;
+      } else {
+        candidates.retainAll(artifacts);
+      }
+    }
+    Collection<String> artifacts = candidates != null ? candidates : artifactVersions.keySet();
+    Predicate<IndexedVersion> filter = v -> (version == null || version.isEmpty() || matchesAny(version, v.version()))
+        && (packaging == null || packaging.isEmpty() || matchesAny(packaging, v.packaging()));
+    Map<String, IndexedArtifact> result = new LinkedHashMap<>();
+    for(String artifact : artifacts) {
+      for(String key : artifactVersions.getOrDefault(artifact, Set.of())) {
+        IndexedVersion indexed = versions.get(key);
+        if(indexed != null && filter.test(indexed)) {
+          addFiles(result, indexed, SEARCH_ALL, f -> true);
+        }
+      }
+    }
+    return result.values();
+  }
+
+  @Override
+  public Map<String, IndexedArtifact> search(SearchExpression expression, String searchType) {
+    return search(expression, searchType, SEARCH_ALL);
+  }
+
+  @Override
+  public Map<String, IndexedArtifact> search(SearchExpression expression, String searchType, int classifier) {
+    if(SEARCH_CLASS_NAME.equals(searchType)) {
+      return searchClasses(expression.getStringValue().trim(), classifier);
+    }
+    String term = expression.getStringValue().trim().toLowerCase();
+    Set<String> artifacts = new HashSet<>();
+    Map<String, Predicate<IndexedFile>> sha1Matches = new LinkedHashMap<>();
+    String packaging = null;
+    switch(searchType != null ? searchType : SEARCH_ARTIFACT) {
+      case SEARCH_GROUP -> artifacts = lookup(groupIds, List.of(expression));
+      case SEARCH_SHA1 -> findSha1(term, sha1Matches);
+      case SEARCH_PACKAGING -> {
+        artifacts = artifactVersions.keySet();
+        packaging = term;
+      }
+      case SEARCH_ARTIFACT, SEARCH_PARENTS, SEARCH_PLUGIN, SEARCH_ARCHETYPE -> {
+        artifacts = lookup(terms, List.of(expression));
+        findSha1(term, sha1Matches);
+        packaging = switch(searchType != null ? searchType : SEARCH_ARTIFACT) {
+          case SEARCH_PARENTS -> "pom"; //$NON-NLS-1$
+          case SEARCH_PLUGIN -> "maven-plugin"; //$NON-NLS-1$
+          case SEARCH_ARCHETYPE -> "maven-archetype"; //$NON-NLS-1$
+          default -> null;
+        };
+      }
+      default -> {
+        // unsupported search type
+      }
+    }
+    Map<String, IndexedArtifact> result = new LinkedHashMap<>();
+    for(String artifact : artifacts) {
+      for(String key : artifactVersions.getOrDefault(artifact, Set.of())) {
+        IndexedVersion version = versions.get(key);
+        if(version != null && (packaging == null || packaging.equalsIgnoreCase(version.packaging()))) {
+          addFiles(result, version, classifier, f -> true);
+        }
+      }
+    }
+    final String requiredPackaging = packaging;
+    sha1Matches.forEach((key, filter) -> {
+      IndexedVersion version = versions.get(key);
+      if(version != null && (requiredPackaging == null || requiredPackaging.equalsIgnoreCase(version.packaging()))) {
+        addFiles(result, version, SEARCH_ALL, filter);
+      }
+    });
+    result.values().removeIf(a -> a.getFiles().isEmpty());
+    return result;
+  }
+
+  private Map<String, IndexedArtifact> searchClasses(String prefix, int classifier) {
+    Map<String, IndexedArtifact> result = new LinkedHashMap<>();
+    for(ClassNameIndex.ClassMatch match : classNames.find(prefix)) {
+      IndexedVersion version = versions.get(match.versionKey());
+      if(version == null) {
+        continue;
+      }
+      IndexedArtifact artifact = result.computeIfAbsent(
+          match.className() + " : " + match.packageName() + " : " + version.groupId() + " : " + version.artifactId(), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+          k -> new IndexedArtifact(version.groupId(), version.artifactId(), match.packageName(), match.className(),
+              version.packaging()));
+      for(IndexedFile file : version.files()) {
+        if(matchesClassifier(version, file, classifier)) {
+          artifact.addFile(toIndexedArtifactFile(version, file));
+        }
+      }
+    }
+    result.values().removeIf(a -> a.getFiles().isEmpty());
+    return result;
+  }
+
+  private void findSha1(String term, Map<String, Predicate<IndexedFile>> matches) {
+    if(SHA1_PREFIX.matcher(term).matches()) {
+      for(Map.Entry<String, String> entry : sha1s.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+        String sha1 = entry.getKey();
+        matches.merge(entry.getValue(), f -> sha1.equals(f.sha1()), Predicate::or);
+      }
+    }
+  }
+
+  private static Set<String> lookup(NavigableMap<String, Set<String>> index, Collection<SearchExpression> expressions) {
+    Set<String> result = new HashSet<>();
+    for(SearchExpression expression : expressions) {
+      String value = expression.getStringValue().trim().toLowerCase();
+      if(!isPartial(expression)) {
+        result.addAll(index.getOrDefault(value, Set.of()));
+        continue;
+      }
+      int wildcard = indexOfWildcard(value);
+      String prefix = wildcard < 0 ? value : value.substring(0, wildcard);
+      Pattern pattern = wildcard < 0 ? null : toPattern(value);
+      for(Map.Entry<String, Set<String>> entry : index.subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+          .entrySet()) {
+        if(pattern == null || pattern.matcher(entry.getKey()).matches()) {
+          result.addAll(entry.getValue());
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean matchesAny(Collection<SearchExpression> expressions, String value) {
+    for(SearchExpression expression : expressions) {
+      String expected = expression.getStringValue().trim();
+      if(!isPartial(expression) ? expected.equalsIgnoreCase(value)
+          : toPattern(expected.toLowerCase()).matcher(value.toLowerCase()).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isPartial(SearchExpression expression) {
+    return expression instanceof MatchTyped typed && typed.getMatchType() == MatchType.PARTIAL;
+  }
+
+  private static int indexOfWildcard(String value) {
+    int star = value.indexOf('*');
+    int question = value.indexOf('?');
+    return star < 0 ? question : question < 0 ? star : Math.min(star, question);
+  }
+
+  /**
+   * @return a pattern matching all values starting with the given wildcard expression
+   */
+  private static Pattern toPattern(String wildcardExpression) {
+    StringBuilder regex = new StringBuilder();
+    for(String part : wildcardExpression.split("(?=[*?])|(?<=[*?])")) { //$NON-NLS-1$
+      switch(part) {
+        case "*" -> regex.append(".*"); //$NON-NLS-1$ //$NON-NLS-2$
+        case "?" -> regex.append('.'); //$NON-NLS-1$
+        default -> regex.append(Pattern.quote(part));
+      }
+    }
+    return Pattern.compile(regex.append(".*").toString()); //$NON-NLS-1$
+  }
+
+  private void addFiles(Map<String, IndexedArtifact> result, IndexedVersion version, int classifier,
+      Predicate<IndexedFile> filter) {
+    IndexedArtifact artifact = result.computeIfAbsent(version.groupId() + ":" + version.artifactId(), //$NON-NLS-1$
+        k -> new IndexedArtifact(version.groupId(), version.artifactId(), null, null, version.packaging()));
+    for(IndexedFile file : version.files()) {
+      if(filter.test(file) && matchesClassifier(version, file, classifier)) {
+        artifact.addFile(toIndexedArtifactFile(version, file));
+      }
+    }
+  }
+
+  private static boolean matchesClassifier(IndexedVersion version, IndexedFile file, int classifier) {
+    if(file.classifier() == null) {
+      return (classifier & SEARCH_JARS) != 0 && isMainFile(version, file);
+    }
+    return switch(file.classifier()) {
+      case "sources" -> (classifier & SEARCH_SOURCES) != 0; //$NON-NLS-1$
+      case "javadoc" -> (classifier & SEARCH_JAVADOCS) != 0; //$NON-NLS-1$
+      case "tests", "test-sources" -> (classifier & SEARCH_TESTS) != 0; //$NON-NLS-1$ //$NON-NLS-2$
+      default -> classifier == SEARCH_ALL;
+    };
+  }
+
+  /**
+   * @return if the given file is the main artifact, i.e. the pom for pom packaged artifacts and the non-pom file
+   *         without classifier otherwise
+   */
+  private static boolean isMainFile(IndexedVersion version, IndexedFile file) {
+    return file.classifier() == null && "pom".equals(version.packaging()) == "pom".equals(file.extension()); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private IndexedArtifactFile toIndexedArtifactFile(IndexedVersion version, IndexedFile file) {
+    int sourcesExists = NOT_PRESENT;
+    int javadocExists = NOT_PRESENT;
+    for(IndexedFile other : version.files()) {
+      if("sources".equals(other.classifier())) { //$NON-NLS-1$
+        sourcesExists = PRESENT;
+      } else if("javadoc".equals(other.classifier())) { //$NON-NLS-1$
+        javadocExists = PRESENT;
+      }
+    }
+    Path basedir = repositoryBasedir;
+    return new IndexedArtifactFile(basedir != null ? basedir.toString() : null, version.groupId(),
+        version.artifactId(), version.version(), file.extension(), file.classifier(), getFileName(version, file),
+        file.size(), new Date(file.lastModified()), sourcesExists, javadocExists, null, null);
+  }
+
+  private static String getFileName(IndexedVersion version, IndexedFile file) {
+    StringBuilder name = new StringBuilder(version.artifactId()).append('-').append(version.version());
+    if(file.classifier() != null) {
+      name.append('-').append(file.classifier());
+    }
+    return name.append('.').append(file.extension()).toString();
+  }
+}
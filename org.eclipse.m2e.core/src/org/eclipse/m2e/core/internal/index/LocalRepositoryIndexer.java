@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.index;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.m2e.core.internal.Messages;
+import org.eclipse.m2e.core.internal.jobs.IBackgroundProcessingQueue;
+import org.eclipse.m2e.core.internal.jobs.MavenJob;
+
+
+/**
+ * Keeps a {@link LocalRepositoryIndex} up to date. The whole local repository is walked once per session to pick up
+ * changes made outside of the workspace (e.g. by command line builds), only version directories that changed since they
+ * were indexed are read. Afterwards only the version directories of artifacts reported as installed or downloaded are
+ * read again.
+ */
+class LocalRepositoryIndexer extends MavenJob implements IBackgroundProcessingQueue {
+  private static final Logger log = LoggerFactory.getLogger(LocalRepositoryIndexer.class);
+
+  private final LocalRepositoryIndex index;
+
+  private final Set<Path> queue = new LinkedHashSet<>();
+
+  LocalRepositoryIndexer(LocalRepositoryIndex index) {
+    super(Messages.LocalRepositoryIndexer_title);
+    this.index = index;
+    setSystem(true);
+  }
+
+  /**
+   * Schedules the given version directory to be (re-)indexed.
+   */
+  void update(Path directory) {
+    synchronized(queue) {
+      queue.add(directory);
+    }
+    schedule(1000L);
+  }
+
+  @Override
+  public IStatus run(IProgressMonitor monitor) {
+    Set<Path> directories;
+    synchronized(queue) {
+      directories = new LinkedHashSet<>(queue);
+      queue.clear();
+    }
+    try {
+      // the local repository is scanned when it is indexed for the first time in this session
+      Path basedir = index.getRepositoryBasedir();
+      boolean loaded = index.load();
+      if(loaded) {
+        try {
+          scan(basedir, monitor);
+        } catch(IOException ex) {
+          log.error("Failed to index local repository " + basedir, ex);
+        }
+      }
+      for(Path directory : directories) {
+        if(monitor.isCanceled()) {
+          return Status.CANCEL_STATUS;
+        }
+        try {
+          index.update(directory, IndexedVersion.read(basedir, directory));
+        } catch(IOException ex) {
+          log.error("Failed to index " + directory, ex);
+        }
+      }
+      index.flushJournal();
+      // reading the jars takes much longer, so their checksums and classes are indexed last
+      index.indexContents(loaded, monitor);
+      return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    } finally {
+      index.flushJournal();
+    }
+  }
+
+  private void scan(Path basedir, IProgressMonitor monitor) throws IOException {
+    if(!Files.isDirectory(basedir)) {
+      return;
+    }
+    Set<String> seen = new HashSet<>();
+    Files.walkFileTree(basedir, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        if(monitor.isCanceled()) {
+          return FileVisitResult.TERMINATE;
+        }
+        String name = dir.getFileName().toString();
+        if(name.startsWith(".") && !dir.equals(basedir)) { //$NON-NLS-1$
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+        IndexedVersion indexed = index.getIndexedVersion(basedir, dir);
+        if(indexed != null && indexed.lastModified() == attrs.lastModifiedTime().toMillis()) {
+          seen.add(indexed.getKey());
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+        IndexedVersion version = IndexedVersion.read(basedir, dir);
+        if(version != null) {
+          seen.add(version.getKey());
+          index.update(dir, version);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException exc) {
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    if(!monitor.isCanceled()) {
+      index.retainAll(seen);
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    synchronized(queue) {
+      return queue.isEmpty();
+    }
+  }
+}
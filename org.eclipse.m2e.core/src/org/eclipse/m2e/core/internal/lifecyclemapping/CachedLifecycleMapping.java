@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.lifecyclemapping;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.project.MavenProject;
+
+import org.eclipse.m2e.core.internal.lifecyclemapping.model.LifecycleMappingMetadata;
+import org.eclipse.m2e.core.internal.lifecyclemapping.model.LifecycleMappingMetadataSource;
+import org.eclipse.m2e.core.internal.lifecyclemapping.model.PluginExecutionMetadata;
+import org.eclipse.m2e.core.lifecyclemapping.model.IPluginExecutionMetadata;
+import org.eclipse.m2e.core.project.configurator.MojoExecutionKey;
+
+
+/**
+ * A project independent snapshot of an effective lifecycle mapping that can be shared between projects with the same
+ * mapping inputs (e.g. sibling modules of a reactor).
+ * <p>
+ * Metadata that originates from a pom.xml is not stored with a reference to the {@link MavenProject} it was read from,
+ * instead the position in the parent hierarchy is remembered and re-attached to the corresponding ancestor of the
+ * project the mapping is applied to.
+ */
+final class CachedLifecycleMapping {
+
+  private final LifecycleMappingMetadata lifecycleMappingMetadata;
+
+  private final Object lifecycleMappingSource;
+
+  private final Map<MojoExecutionKey, List<CachedMetadata>> mojoExecutionMapping;
+
+  private CachedLifecycleMapping(LifecycleMappingMetadata lifecycleMappingMetadata, Object lifecycleMappingSource,
+      Map<MojoExecutionKey, List<CachedMetadata>> mojoExecutionMapping) {
+    this.lifecycleMappingMetadata = lifecycleMappingMetadata;
+    this.lifecycleMappingSource = lifecycleMappingSource;
+    this.mojoExecutionMapping = mojoExecutionMapping;
+  }
+
+  /**
+   * Creates a snapshot of the given result, or returns <code>null</code> if the result can not be shared with other
+   * projects.
+   */
+  static CachedLifecycleMapping of(LifecycleMappingResult result, MavenProject mavenProject) {
+    if(result.hasProblems() || result.isProjectSpecific() || result.getMojoExecutionMapping() == null) {
+      return null;
+    }
+    LifecycleMappingMetadata metadata = result.getLifecycleMappingMetadata();
+    Object lifecycleMappingSource = null;
+    LifecycleMappingMetadata metadataCopy = null;
+    if(metadata != null) {
+      lifecycleMappingSource = detach(metadata.getSource(), mavenProject);
+      if(lifecycleMappingSource == null && metadata.getSource() != null) {
+        return null;
+      }
+      metadataCopy = copy(metadata);
+    }
+    Map<MojoExecutionKey, List<CachedMetadata>> mapping = new LinkedHashMap<>();
+    for(Map.Entry<MojoExecutionKey, List<IPluginExecutionMetadata>> entry : result.getMojoExecutionMapping()
+        .entrySet()) {
+      List<CachedMetadata> metadatas = new ArrayList<>();
+      if(entry.getValue() != null) {
+        for(IPluginExecutionMetadata executionMetadata : entry.getValue()) {
+          if(executionMetadata instanceof PluginExecutionMetadata pluginExecution) {
+            LifecycleMappingMetadataSource source = pluginExecution.getSource();
+            Object detached = detach(source, mavenProject);
+            if(detached == null && source != null) {
+              return null;
+            }
+            PluginExecutionMetadata clone = pluginExecution.clone();
+            clone.setSource(null);
+            metadatas.add(new CachedMetadata(clone, detached));
+          } else {
+            metadatas.add(new CachedMetadata(executionMetadata, null));
+          }
+        }
+      }
+      mapping.put(entry.getKey(), metadatas);
+    }
+    return new CachedLifecycleMapping(metadataCopy, lifecycleMappingSource, mapping);
+  }
+
+  /**
+   * Populates the given result with a copy of this mapping, attaching pom.xml sources to the ancestors of the given
+   * project.
+   */
+  void applyTo(LifecycleMappingResult result, MavenProject mavenProject) {
+    if(lifecycleMappingMetadata != null) {
+      LifecycleMappingMetadata metadata = copy(lifecycleMappingMetadata);
+      metadata.setSource(attach(lifecycleMappingSource, mavenProject));
+      result.setLifecycleMappingMetadata(metadata);
+    }
+    Map<MojoExecutionKey, List<IPluginExecutionMetadata>> mapping = new LinkedHashMap<>();
+    for(Map.Entry<MojoExecutionKey, List<CachedMetadata>> entry : mojoExecutionMapping.entrySet()) {
+      List<IPluginExecutionMetadata> metadatas = new ArrayList<>(entry.getValue().size());
+      for(CachedMetadata cached : entry.getValue()) {
+        if(cached.metadata() instanceof PluginExecutionMetadata pluginExecution) {
+          PluginExecutionMetadata clone = pluginExecution.clone();
+          clone.setSource(attach(cached.source(), mavenProject));
+          metadatas.add(clone);
+        } else {
+          metadatas.add(cached.metadata());
+        }
+      }
+      mapping.put(entry.getKey(), metadatas);
+    }
+    result.setMojoExecutionMapping(mapping);
+  }
+
+  /**
+   * @return the source itself, the {@link Integer} index of the declaring ancestor for pom.xml sources or
+   *         <code>null</code> if the source can not be detached
+   */
+  private static Object detach(LifecycleMappingMetadataSource source, MavenProject mavenProject) {
+    if(source == null) {
+      return null;
+    }
+    if(source.getSource() instanceof MavenProject declaringProject) {
+      int depth = 0;
+      for(MavenProject project = mavenProject; project != null; project = project.getParent()) {
+        if(project == declaringProject) {
+          return Integer.valueOf(depth);
+        }
+        depth++ ;
+      }
+      return null;
+    }
+    return source;
+  }
+
+  private static LifecycleMappingMetadataSource attach(Object source, MavenProject mavenProject) {
+    if(source instanceof Integer depth) {
+      MavenProject project = mavenProject;
+      for(int i = 0; i < depth && project != null; i++ ) {
+        project = project.getParent();
+      }
+      LifecycleMappingMetadataSource projectSource = new LifecycleMappingMetadataSource();
+      projectSource.setSource(project);
+      return projectSource;
+    }
+    return (LifecycleMappingMetadataSource) source;
+  }
+
+  private static LifecycleMappingMetadata copy(LifecycleMappingMetadata metadata) {
+    LifecycleMappingMetadata copy = new LifecycleMappingMetadata();
+    copy.setPackagingType(metadata.getPackagingType());
+    copy.setLifecycleMappingId(metadata.getLifecycleMappingId());
+    copy.setLifecycleMappingVersionRange(metadata.getLifecycleMappingVersionRange());
+    return copy;
+  }
+
+  private static record CachedMetadata(IPluginExecutionMetadata metadata, Object source) {
+  }
+}
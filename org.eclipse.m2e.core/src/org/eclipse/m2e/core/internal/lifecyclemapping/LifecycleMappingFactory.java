@@ -17,18 +17,18 @@
 
 package org.eclipse.m2e.core.internal.lifecyclemapping;
 
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -41,16 +41,18 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
-import java.util.jar.JarFile;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -66,7 +68,9 @@ import org.codehaus.plexus.util.dag.CycleDetectedException;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
@@ -79,6 +83,7 @@ import org.apache.maven.model.Plugin;
 import org.apache.maven.model.PluginManagement;
 import org.apache.maven.model.Profile;
 import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.project.MavenProject;
 
 import org.eclipse.m2e.core.MavenPlugin;
@@ -174,8 +179,22 @@ public class LifecycleMappingFactory {
 
   private static final String LIFECYCLE_MAPPING_METADATA_CLASSIFIER = "lifecycle-mapping-metadata";
 
+  private static final int MAPPING_CACHE_SIZE = Integer.getInteger("m2e.lifecyclemapping.cache.size", 500);
+
   private static List<LifecycleMappingMetadataSource> bundleMetadataSources = null;
 
+  /**
+   * Effective lifecycle mappings keyed by a hash of their inputs, see
+   * {@link #getMappingCacheKey(MavenProject, List)}
+   */
+  private static final Cache<String, CachedLifecycleMapping> mappingCache = CacheBuilder.newBuilder()
+      .maximumSize(MAPPING_CACHE_SIZE).build();
+
+  /**
+   * Incremented whenever one of the global metadata sources (workspace, bundles, default) changes
+   */
+  private static final AtomicLong metadataSourcesVersion = new AtomicLong();
+
   /**
    * Do not instantiate, use statically
    */
@@ -246,10 +265,23 @@ public class LifecycleMappingFactory {
       result.setMojoExecutionMapping(executionMapping);
     } else {
       try {
+        String cacheKey = getMappingCacheKey(mavenProject, mojoExecutions);
+        CachedLifecycleMapping cachedMapping = cacheKey != null ? mappingCache.getIfPresent(cacheKey) : null;
+        if(cachedMapping != null) {
+          log.debug("Reusing cached lifecycle mapping metadata for {}.", mavenProject); //$NON-NLS-1$
+          cachedMapping.applyTo(result, mavenProject);
+          return;
+        }
         Map<String, List<MappingMetadataSource>> projectSources = getProjectMetadataSourcesMap(mavenProject,
             getBundleMetadataSources(), mojoExecutions, true, monitor);
         calculateEffectiveLifecycleMappingMetadata(result, asList(projectSources), mavenProject, mojoExecutions, true,
             monitor);
+        if(cacheKey != null) {
+          cachedMapping = CachedLifecycleMapping.of(result, mavenProject);
+          if(cachedMapping != null) {
+            mappingCache.put(cacheKey, cachedMapping);
+          }
+        }
       } catch(LifecycleMappingConfigurationException e) {
         // could not read/parse/interpret mapping metadata configured in the pom or inherited from parent pom.
         // record the problem and return
@@ -258,6 +290,81 @@ public class LifecycleMappingFactory {
     }
   }
 
+  /**
+   * Computes a key for all inputs of the effective lifecycle mapping of the given project that are not shared by all
+   * projects: the packaging type, the lifecycle mapping configuration in pom.xml of the project and its parents, the
+   * mojo executions and their configuration, the state of the files of SNAPSHOT plugins, whose embedded metadata may
+   * change without a version change, and the version of the global metadata sources. Returns <code>null</code> if the
+   * mapping of this project must not be cached.
+   */
+  private static String getMappingCacheKey(MavenProject mavenProject, List<MojoExecution> mojoExecutions)
+      throws CoreException {
+    if(mojoExecutions == null) {
+      return null;
+    }
+    StringBuilder key = new StringBuilder();
+    key.append(metadataSourcesVersion.get()).append('|').append(mavenProject.getPackaging()).append('|')
+        .append(MavenPlugin.getMavenConfiguration().getDefaultMojoExecutionAction());
+    for(MavenProject project = mavenProject; project != null; project = project.getParent()) {
+      if(AnnotationMappingMetadataSource.get(project) != null) {
+        // annotations are bound to the locations in this very pom.xml
+        return null;
+      }
+      key.append('|').append(getLifecycleMappingPluginConfiguration(project));
+    }
+    for(MojoExecution execution : mojoExecutions) {
+      key.append('|').append(new MojoExecutionKey(execution).getKeyString()).append(execution.getConfiguration());
+      if(ArtifactUtils.isSnapshot(execution.getVersion())) {
+        File pluginFile = getPluginFile(execution);
+        if(pluginFile == null) {
+          return null;
+        }
+        if(pluginFile.isDirectory()) {
+          pluginFile = new File(pluginFile, LIFECYCLE_MAPPING_METADATA_EMBEDDED_SOURCE_PATH);
+        }
+        key.append(':').append(pluginFile.lastModified()).append(':').append(pluginFile.length());
+      }
+    }
+    return DigestUtils.sha1Hex(key.toString());
+  }
+
+  /**
+   * Returns the lifecycle mapping plugin declarations of pom.xml of the given project as written there. Only
+   * declarations that contain expressions are interpolated, which requires to interpolate the whole plugin management.
+   */
+  private static String getLifecycleMappingPluginConfiguration(MavenProject project) throws CoreException {
+    PluginManagement declared = new PluginManagement();
+    addBuild(declared, project.getOriginalModel().getBuild());
+    for(Profile profile : project.getActiveProfiles()) {
+      addBuild(declared, profile.getBuild());
+    }
+    StringBuilder configuration = new StringBuilder();
+    for(Plugin plugin : declared.getPlugins()) {
+      if(LIFECYCLE_MAPPING_PLUGIN_KEY.equals(plugin.getKey())) {
+        configuration.append(plugin.getVersion()).append(plugin.getConfiguration());
+      }
+    }
+    if(configuration.indexOf("${") < 0) { //$NON-NLS-1$
+      return configuration.toString();
+    }
+    Plugin metadataPlugin = getPluginManagement(project).getPluginsAsMap().get(LIFECYCLE_MAPPING_PLUGIN_KEY);
+    return metadataPlugin != null ? metadataPlugin.getVersion() + metadataPlugin.getConfiguration() : "";
+  }
+
+  private static File getPluginFile(MojoExecution execution) {
+    MojoDescriptor mojoDescriptor = execution.getMojoDescriptor();
+    if(mojoDescriptor == null || mojoDescriptor.getPluginDescriptor() == null) {
+      return null;
+    }
+    Artifact pluginArtifact = mojoDescriptor.getPluginDescriptor().getPluginArtifact();
+    return pluginArtifact != null ? pluginArtifact.getFile() : null;
+  }
+
+  private static void metadataSourcesChanged() {
+    metadataSourcesVersion.incrementAndGet();
+    mappingCache.invalidateAll();
+  }
+
   public static Map<String, List<MappingMetadataSource>> getProjectMetadataSourcesMap(MavenProject mavenProject,
       List<LifecycleMappingMetadataSource> bundleMetadataSources, List<MojoExecution> mojoExecutions,
       boolean includeDefault, IProgressMonitor monitor) throws CoreException, LifecycleMappingConfigurationException {
@@ -411,12 +518,20 @@ public class LifecycleMappingFactory {
 
     MavenImpl maven = (MavenImpl) MavenPlugin.getMaven();
 
+    Map<String, Artifact> pluginArtifacts;
+    // 422135 disable workspace resolution for plugin artifacts
+    try (var d = EclipseWorkspaceArtifactRepository.setDisabled()) {
+      pluginArtifacts = maven.resolvePluginArtifacts(
+          mojoExecutions.stream().map(MojoExecution::getPlugin).collect(Collectors.toList()), remoteRepositories,
+          monitor);
+    } catch(CoreException e) {
+      log.debug("Could not resolve plugin artifacts", e); //$NON-NLS-1$
+      return Collections.emptyList();
+    }
+
     for(MojoExecution execution : mojoExecutions) {
-      Artifact artifact;
-      // 422135 disable workspace resolution for plugin artifacts
-      try (var d = EclipseWorkspaceArtifactRepository.setDisabled()) {
-        artifact = maven.resolvePluginArtifact(execution.getPlugin(), remoteRepositories, monitor);
-      } catch(CoreException e) {
+      Artifact artifact = pluginArtifacts.get(execution.getPlugin().getId());
+      if(artifact == null) {
         // skip this plugin, it won't run anyways
         continue;
       }
@@ -427,12 +542,6 @@ public class LifecycleMappingFactory {
       }
       LifecycleMappingMetadataSource metadata = readMavenPluginEmbeddedMetadata(artifact);
       if(metadata != null) {
-        // enforce embedded metadata only contains mappings for this plugin and nothing else
-        for(LifecycleMappingMetadata lifecycleMetadta : metadata.getLifecycleMappings()) {
-          enforcePluginMapping(artifact, lifecycleMetadta.getPluginExecutions());
-        }
-        enforcePluginMapping(artifact, metadata.getPluginExecutions());
-
         result.put(file, metadata);
       }
     }
@@ -475,19 +584,15 @@ public class LifecycleMappingFactory {
     LifecycleMappingMetadataSource metadata = null;
     try {
       if(file.isFile()) {
-        try (JarFile jar = new JarFile(file)) {
-          ZipEntry entry = jar.getEntry(LIFECYCLE_MAPPING_METADATA_EMBEDDED_SOURCE_PATH);
-          if(entry == null) {
-            return null;
-          }
-          InputStream is = jar.getInputStream(entry);
-          metadata = createLifecycleMappingMetadataSource(is);
-        }
+        // the parsed metadata is cached and shared, so it is completed only once
+        return PluginEmbeddedMetadataCache.getEmbeddedMetadata(file, LIFECYCLE_MAPPING_METADATA_EMBEDDED_SOURCE_PATH,
+            embeddedMetadata -> completeMavenPluginEmbeddedMetadata(artifact,
+                createLifecycleMappingMetadataSource(new StringReader(embeddedMetadata))));
       } else if(file.isDirectory()) {
         file = new File(file, LIFECYCLE_MAPPING_METADATA_EMBEDDED_SOURCE_PATH);
         if(file.isFile()) {
           try (InputStream is = new FileInputStream(file)) {
-            metadata = createLifecycleMappingMetadataSource(is);
+            metadata = completeMavenPluginEmbeddedMetadata(artifact, createLifecycleMappingMetadataSource(is));
           }
         }
       }
@@ -495,9 +600,17 @@ public class LifecycleMappingFactory {
       throw new LifecycleMappingConfigurationException(
           "Cannot read lifecycle mapping metadata for artifact " + artifact, e);
     }
-    if(metadata != null) {
-      metadata.setSource(artifact);
+    return metadata;
+  }
+
+  private static LifecycleMappingMetadataSource completeMavenPluginEmbeddedMetadata(Artifact artifact,
+      LifecycleMappingMetadataSource metadata) {
+    // enforce embedded metadata only contains mappings for this plugin and nothing else
+    for(LifecycleMappingMetadata lifecycleMetadta : metadata.getLifecycleMappings()) {
+      enforcePluginMapping(artifact, lifecycleMetadta.getPluginExecutions());
     }
+    enforcePluginMapping(artifact, metadata.getPluginExecutions());
+    metadata.setSource(artifact);
     return metadata;
   }
 
@@ -505,39 +618,125 @@ public class LifecycleMappingFactory {
     return new File(MavenPlugin.getMavenConfiguration().getWorkspaceLifecycleMappingMetadataFile());
   }
 
-  private static LifecycleMappingMetadataSource workspaceMetadataSource;
+  /**
+   * Snapshot of the workspace lifecycle mapping metadata and the state of the file it was read from. Readers never
+   * lock, the snapshot is replaced as a whole whenever the file changes.
+   */
+  private static record WorkspaceMetadata(LifecycleMappingMetadataSource source, File file, long lastModified,
+      long length) {
+
+    static WorkspaceMetadata read(File file) {
+      return read(file, null);
+    }
+
+    /**
+     * Reads the file once, the content is also parsed into the given array so callers get a copy of their own.
+     */
+    static WorkspaceMetadata read(File file, LifecycleMappingMetadataSource[] privateCopy) {
+      // capture the file state first, a concurrent modification is then picked up by the next read
+      long lastModified = file.lastModified();
+      long length = file.length();
+      byte[] content = readWorkspaceMetadataFile(file);
+      if(privateCopy != null) {
+        privateCopy[0] = parseWorkspaceMetadata(content);
+      }
+      return new WorkspaceMetadata(parseWorkspaceMetadata(content), file, lastModified, length);
+    }
 
-  public static synchronized LifecycleMappingMetadataSource getWorkspaceMetadata(boolean reload) {
-    if(workspaceMetadataSource == null || reload) {
-      File mappingFile = getWorkspaceMetadataFile();
-      try (InputStream is = new FileInputStream(mappingFile)) {
-        workspaceMetadataSource = createLifecycleMappingMetadataSource(is);
-      } catch(FileNotFoundException e) {
-        // this is expected, ignore
-      } catch(IOException | XmlPullParserException ex) {
-        log.error(ex.getMessage(), ex);
+    boolean isUpToDate(File mappingFile) {
+      return file.equals(mappingFile) && mappingFile.lastModified() == lastModified && mappingFile.length() == length;
+    }
+  }
+
+  private static volatile WorkspaceMetadata workspaceMetadata;
+
+  private static final Object workspaceMetadataLock = new Object();
+
+  /**
+   * Returns the lifecycle mapping metadata configured for the workspace. The metadata is re-read automatically when
+   * the underlying file changes.
+   *
+   * @param reload if <code>true</code> the metadata is re-read from disk and a private copy is returned that can be
+   *          modified and saved with {@link #writeWorkspaceMetadata(LifecycleMappingMetadataSource)}
+   */
+  public static LifecycleMappingMetadataSource getWorkspaceMetadata(boolean reload) {
+    File mappingFile = getWorkspaceMetadataFile();
+    WorkspaceMetadata current = workspaceMetadata;
+    if(reload) {
+      LifecycleMappingMetadataSource[] privateCopy = new LifecycleMappingMetadataSource[1];
+      synchronized(workspaceMetadataLock) {
+        workspaceMetadata = WorkspaceMetadata.read(mappingFile, privateCopy);
+        metadataSourcesChanged();
+      }
+      return privateCopy[0];
+    }
+    if(current == null || !current.isUpToDate(mappingFile)) {
+      synchronized(workspaceMetadataLock) {
+        current = workspaceMetadata;
+        if(current == null || !current.isUpToDate(mappingFile)) {
+          boolean changed = current != null;
+          current = WorkspaceMetadata.read(mappingFile);
+          workspaceMetadata = current;
+          if(changed) {
+            metadataSourcesChanged();
+          }
+        }
       }
+    }
+    return current.source();
+  }
 
-      if(workspaceMetadataSource == null) {
-        workspaceMetadataSource = new LifecycleMappingMetadataSource();
+  private static byte[] readWorkspaceMetadataFile(File mappingFile) {
+    try {
+      return Files.readAllBytes(mappingFile.toPath());
+    } catch(NoSuchFileException e) {
+      // this is expected, ignore
+    } catch(IOException ex) {
+      log.error(ex.getMessage(), ex);
+    }
+    return null;
+  }
+
+  private static LifecycleMappingMetadataSource parseWorkspaceMetadata(byte[] content) {
+    LifecycleMappingMetadataSource metadataSource = null;
+    if(content != null) {
+      try (InputStream is = new ByteArrayInputStream(content)) {
+        metadataSource = createLifecycleMappingMetadataSource(is);
+      } catch(IOException | XmlPullParserException ex) {
+        log.error(ex.getMessage(), ex);
       }
+    }
 
-      workspaceMetadataSource.setSource("workspace");
+    if(metadataSource == null) {
+      metadataSource = new LifecycleMappingMetadataSource();
     }
 
-    return workspaceMetadataSource;
+    metadataSource.setSource("workspace");
+    return metadataSource;
   }
 
-  public static synchronized void writeWorkspaceMetadata(LifecycleMappingMetadataSource metadata) {
+  public static void writeWorkspaceMetadata(LifecycleMappingMetadataSource metadata) {
     LifecycleMappingMetadataSourceXpp3Writer writer = new LifecycleMappingMetadataSourceXpp3Writer();
     File mappingFile = getWorkspaceMetadataFile();
-    mappingFile.getParentFile().mkdirs();
-    try (OutputStream os = new BufferedOutputStream(new FileOutputStream(mappingFile))) {
-      writer.write(os, metadata);
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    try {
+      writer.write(content, metadata);
     } catch(IOException ex) {
       log.error(ex.getMessage(), ex);
+      return;
+    }
+    synchronized(workspaceMetadataLock) {
+      mappingFile.getParentFile().mkdirs();
+      try {
+        Files.write(mappingFile.toPath(), content.toByteArray());
+      } catch(IOException ex) {
+        log.error(ex.getMessage(), ex);
+      }
+      // publish a copy, the caller may continue to modify its instance
+      workspaceMetadata = new WorkspaceMetadata(parseWorkspaceMetadata(content.toByteArray()), mappingFile,
+          mappingFile.lastModified(), mappingFile.length());
+      metadataSourcesChanged();
     }
-    workspaceMetadataSource = metadata;
   }
 
   public static void calculateEffectiveLifecycleMappingMetadata(LifecycleMappingResult result,
@@ -602,8 +801,13 @@ public class LifecycleMappingFactory {
         // collect all metadatasPerSource and extract all configurator execution metadatas
         for(MappingMetadataSource source : metadataSources) {
           try {
-            List<PluginExecutionMetadata> metadatas = applyParametersFilter(
-                source.getPluginExecutionMetadata(executionKey), mavenProject, execution, monitor);
+            List<PluginExecutionMetadata> sourceMetadatas = source.getPluginExecutionMetadata(executionKey);
+            if(hasParameterFilter(sourceMetadatas)) {
+              // parameter values are evaluated against this project
+              result.setProjectSpecific();
+            }
+            List<PluginExecutionMetadata> metadatas = applyParametersFilter(sourceMetadatas, mavenProject, execution,
+                monitor);
             metadatasPerSource.put(source, metadatas);
             for(PluginExecutionMetadata executionMetadata : metadatas) {
               if(isConfigurator(executionMetadata)) {
@@ -705,6 +909,10 @@ public class LifecycleMappingFactory {
     return result;
   }
 
+  private static boolean hasParameterFilter(List<PluginExecutionMetadata> metadatas) {
+    return metadatas.stream().anyMatch(metadata -> !metadata.getFilter().getParameters().isEmpty());
+  }
+
   private static boolean hasMatchingParameterValue(MavenProject mavenProject, MojoExecution execution,
       PluginExecutionMetadata metadata, IMaven maven, IProgressMonitor monitor) throws CoreException {
     Map<String, Object> parameters = metadata.getFilter().getParameters();
@@ -1228,6 +1436,7 @@ public class LifecycleMappingFactory {
       LifecycleMappingMetadataSource defaultLifecycleMappingMetadataSource) {
     LifecycleMappingFactory.defaultLifecycleMappingMetadataSource = defaultLifecycleMappingMetadataSource;
     useDefaultLifecycleMappingMetadataSource = true;
+    metadataSourcesChanged();
   }
 
   private static boolean useDefaultLifecycleMappingMetadataSource = true;
@@ -1238,6 +1447,7 @@ public class LifecycleMappingFactory {
     if(!use) {
       defaultLifecycleMappingMetadataSource = null;
     }
+    metadataSourcesChanged();
   }
 
   // TODO: cache LifecycleMappingMetadataSource instances
@@ -1457,5 +1667,6 @@ public class LifecycleMappingFactory {
    */
   public static synchronized void setBundleMetadataSources(List<LifecycleMappingMetadataSource> bundleMetadataSources) {
     LifecycleMappingFactory.bundleMetadataSources = bundleMetadataSources;
+    metadataSourcesChanged();
   }
 }
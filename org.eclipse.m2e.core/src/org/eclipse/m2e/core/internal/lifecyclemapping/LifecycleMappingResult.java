@@ -36,6 +36,8 @@ public class LifecycleMappingResult {
 
   private Map<String, AbstractProjectConfigurator> configurators;
 
+  private boolean projectSpecific;
+
   public String getLifecycleMappingId() {
     if(lifecycleMapping != null) {
       return lifecycleMapping.getId();
@@ -93,4 +95,16 @@ public class LifecycleMappingResult {
     this.configurators = configurators;
   }
 
+  /**
+   * @return <code>true</code> if the mapping depends on evaluated project state (e.g. mojo parameter values) and thus
+   *         must not be reused for other projects
+   */
+  boolean isProjectSpecific() {
+    return projectSpecific;
+  }
+
+  void setProjectSpecific() {
+    this.projectSpecific = true;
+  }
+
 }
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.core.internal.lifecyclemapping;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import org.eclipse.m2e.core.internal.lifecyclemapping.model.LifecycleMappingMetadataSource;
+
+
+/**
+ * Persistent cache of the <code>META-INF/m2e/lifecycle-mapping-metadata.xml</code> embedded into maven plugin jars,
+ * keyed by the jar's path, size and last modification time. Plugins without embedded metadata are recorded as well, so
+ * a plugin jar is opened at most once as long as it does not change. The parsed metadata is kept in memory, so it is
+ * parsed at most once per session.
+ */
+final class PluginEmbeddedMetadataCache {
+  private PluginEmbeddedMetadataCache() { // static use only
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(PluginEmbeddedMetadataCache.class);
+
+  private static final String CACHE_FILE = "pluginLifecycleMappingMetadata.properties"; //$NON-NLS-1$
+
+  private static final long SAVE_DELAY = 10_000;
+
+  private static Path cacheFile;
+
+  private static Job saveJob;
+
+  private static final Map<String, CacheEntry> ENTRIES = loadEntries();
+
+  private static volatile boolean dirty;
+
+  @FunctionalInterface
+  interface MetadataParser {
+    LifecycleMappingMetadataSource parse(String metadata) throws IOException, XmlPullParserException;
+  }
+
+  /**
+   * Returns the embedded metadata of the given plugin jar parsed by the given parser, or <code>null</code> if the
+   * plugin does not embed any. The parsed metadata is shared by all callers until the jar changes.
+   */
+  static LifecycleMappingMetadataSource getEmbeddedMetadata(File jar, String entryName, MetadataParser parser)
+      throws IOException, XmlPullParserException {
+    String path = jar.getAbsolutePath();
+    long lastModified = jar.lastModified();
+    long length = jar.length();
+    CacheEntry entry = ENTRIES.get(path);
+    if(entry == null || entry.lastModified != lastModified || entry.length != length) {
+      String metadata = "";
+      try (JarFile jarFile = new JarFile(jar)) {
+        ZipEntry zipEntry = jarFile.getEntry(entryName);
+        if(zipEntry != null) {
+          try (InputStream is = jarFile.getInputStream(zipEntry)) {
+            metadata = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+          }
+        }
+      }
+      entry = new CacheEntry(lastModified, length, metadata);
+      ENTRIES.put(path, entry);
+      dirty = true;
+      if(saveJob != null) {
+        saveJob.schedule(SAVE_DELAY);
+      }
+    }
+    return entry.getSource(parser);
+  }
+
+  private static Map<String, CacheEntry> loadEntries() {
+    Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    Bundle bundle = FrameworkUtil.getBundle(PluginEmbeddedMetadataCache.class);
+    if(bundle == null || bundle.getBundleContext() == null) {
+      return entries; // not running in OSGi, keep the cache in memory only
+    }
+    cacheFile = Platform.getStateLocation(bundle).append(CACHE_FILE).toFile().toPath();
+    saveJob = Job.create("Saving plugin lifecycle mapping metadata", monitor -> { //$NON-NLS-1$
+      saveEntries();
+    });
+    saveJob.setSystem(true);
+    bundle.getBundleContext().addBundleListener(event -> {
+      if(event.getType() == BundleEvent.STOPPED && event.getBundle() == bundle) { // called e.g. on shutdown
+        saveJob.cancel();
+        saveEntries();
+      }
+    });
+    if(!Files.isRegularFile(cacheFile)) {
+      return entries;
+    }
+    Properties persisted = new Properties();
+    try (InputStream in = Files.newInputStream(cacheFile)) {
+      persisted.load(in);
+    } catch(IOException ex) {
+      log.error("Failed to load plugin lifecycle mapping metadata cache", ex);
+      return entries;
+    }
+    persisted.forEach((key, value) -> {
+      String[] elements = ((String) value).split(",", 3); //$NON-NLS-1$
+      if(elements.length == 3 && new File((String) key).isFile()) {
+        try {
+          entries.put((String) key,
+              new CacheEntry(Long.parseLong(elements[0]), Long.parseLong(elements[1]), elements[2]));
+        } catch(NumberFormatException ex) {
+          // ignore corrupted entry
+        }
+      }
+    });
+    return entries;
+  }
+
+  private static synchronized void saveEntries() {
+    if(!dirty) {
+      return;
+    }
+    dirty = false;
+    // forget about plugins removed from the local repository
+    ENTRIES.keySet().removeIf(path -> !new File(path).isFile());
+    Properties properties = new Properties(ENTRIES.size() * 4 / 3 + 1);
+    ENTRIES.forEach((path, entry) -> properties.setProperty(path,
+        entry.lastModified + "," + entry.length + "," + entry.metadata)); //$NON-NLS-1$ //$NON-NLS-2$
+    try {
+      Path tmpFile = cacheFile.resolveSibling(CACHE_FILE + ".tmp"); //$NON-NLS-1$
+      try (OutputStream out = Files.newOutputStream(tmpFile)) {
+        properties.store(out, "M2E's cached lifecycle mapping metadata embedded into maven plugins");
+      }
+      Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch(IOException ex) {
+      dirty = true;
+      log.error("Failed to persist plugin lifecycle mapping metadata cache", ex);
+    }
+  }
+
+  private static final class CacheEntry {
+    final long lastModified;
+
+    final long length;
+
+    final String metadata;
+
+    private LifecycleMappingMetadataSource source;
+
+    private boolean parsed;
+
+    CacheEntry(long lastModified, long length, String metadata) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.metadata = metadata;
+    }
+
+    synchronized LifecycleMappingMetadataSource getSource(MetadataParser parser)
+        throws IOException, XmlPullParserException {
+      if(!parsed) {
+        source = metadata.isEmpty() ? null : parser.parse(metadata);
+        parsed = true;
+      }
+      return source;
+    }
+  }
+}
@@ -59,6 +59,7 @@ import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.osgi.util.NLS;
 
+import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 import org.apache.maven.project.MavenProject;
@@ -106,6 +107,11 @@ public class ProjectConfigurationManager
     implements IProjectConfigurationManager, IMavenProjectChangedListener, IResourceChangeListener {
   private static final Logger log = LoggerFactory.getLogger(ProjectConfigurationManager.class);
 
+  /**
+   * number of projects that are created and configured together during import
+   */
+  private static final int IMPORT_CHUNK_SIZE = Math.max(1, Integer.getInteger("m2e.import.chunk.size", 50)); //$NON-NLS-1$
+
   @Reference
   ProjectRegistryManager projectManager;
 
@@ -137,41 +143,110 @@ public class ProjectConfigurationManager
 
     // overall execution context to share repository session data and cache for all projects
     return IMavenExecutionContext.getThreadContext().orElseGet(maven::createExecutionContext).execute((context, m) -> {
-      SubMonitor progress = SubMonitor.convert(m, Messages.ProjectConfigurationManager_task_importing, 100);
+      SubMonitor progress = SubMonitor.convert(m, Messages.ProjectConfigurationManager_task_importing,
+          Math.max(1, projectInfos.size()));
       long t1 = System.currentTimeMillis();
-      List<IMavenProjectImportResult> result = new ArrayList<>();
+      Map<MavenProjectInfo, IMavenProjectImportResult> results = new HashMap<>();
       int total = projectInfos.size();
-      List<IProject> projects = new ArrayList<>(total);
       int i = 0;
 
-      List<IProject> existingProjects = findExistingProjectsToHideFrom();
+      List<IProject> existingProjects = new ArrayList<>(findExistingProjectsToHideFrom());
 
-      // first, create all projects with basic configuration
-      SubMonitor subProgress = SubMonitor.convert(progress.split(10), projectInfos.size());
-      for(MavenProjectInfo projectInfo : projectInfos) {
-        long t11 = System.currentTimeMillis();
-        IProject project = create(projectInfo, configuration, listener, subProgress.split(1));
+      // projects are created and configured chunk by chunk in dependency order, so the first projects are usable early
+      // and only the Maven projects of one chunk are loaded at a time
+      List<MavenProjectInfo> sortedInfos = sortForImport(projectInfos);
+      for(int from = 0; from < sortedInfos.size(); from += IMPORT_CHUNK_SIZE) {
+        List<MavenProjectInfo> chunk = sortedInfos.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, sortedInfos.size()));
+        SubMonitor chunkProgress = SubMonitor.convert(progress.split(chunk.size()), 100);
+        List<IProject> projects = new ArrayList<>(chunk.size());
+
+        // first, create the projects of the chunk with basic configuration
+        SubMonitor subProgress = SubMonitor.convert(chunkProgress.split(10), chunk.size());
+        for(MavenProjectInfo projectInfo : chunk) {
+          long t11 = System.currentTimeMillis();
+          IProject project = create(projectInfo, configuration, listener, subProgress.split(1));
 
-        result.add(new MavenProjectImportResult(projectInfo, project));
+          results.put(projectInfo, new MavenProjectImportResult(projectInfo, project));
 
-        if(project != null) {
-          projects.add(project);
-          long importTime = System.currentTimeMillis() - t11;
-          log.debug("Imported project {} ({}/{}) in {} ms", project.getName(), ++i, total, importTime);
+          if(project != null) {
+            projects.add(project);
+            long importTime = System.currentTimeMillis() - t11;
+            log.debug("Imported project {} ({}/{}) in {} ms", project.getName(), ++i, total, importTime);
+          }
         }
-      }
 
-      hideNestedProjectsFromParents(projects, existingProjects, m);
-      // then configure maven for all projects
-      configureNewMavenProjects(projects, progress.split(90));
+        hideNestedProjectsFromParents(projects, existingProjects, m);
+        existingProjects.addAll(projects);
+        // then configure maven for the projects of the chunk
+        configureNewMavenProjects(projects, chunkProgress.split(90));
+      }
 
       long t2 = System.currentTimeMillis();
       log.info("Imported and configured {} project(s) in {} sec", total, ((t2 - t1) / 1000));
 
+      List<IMavenProjectImportResult> result = new ArrayList<>(total);
+      for(MavenProjectInfo projectInfo : projectInfos) {
+        result.add(results.get(projectInfo));
+      }
       return result;
     }, monitor);
   }
 
+  /**
+   * Orders the given projects so that aggregators, parents and dependencies come before the projects that need them.
+   * Projects without such relation to each other as well as projects in a cycle keep their order.
+   */
+  static List<MavenProjectInfo> sortForImport(Collection<MavenProjectInfo> projectInfos) {
+    Map<String, MavenProjectInfo> byKey = new HashMap<>();
+    for(MavenProjectInfo projectInfo : projectInfos) {
+      Model model = projectInfo.getModel();
+      if(model != null) {
+        byKey.putIfAbsent(getGroupId(model) + ":" + model.getArtifactId(), projectInfo); //$NON-NLS-1$
+      }
+    }
+    Set<MavenProjectInfo> imported = new HashSet<>(projectInfos);
+    Set<MavenProjectInfo> visited = new HashSet<>();
+    List<MavenProjectInfo> sorted = new ArrayList<>(projectInfos.size());
+    for(MavenProjectInfo projectInfo : projectInfos) {
+      addSortedForImport(projectInfo, imported, byKey, visited, sorted);
+    }
+    return sorted;
+  }
+
+  private static void addSortedForImport(MavenProjectInfo projectInfo, Set<MavenProjectInfo> imported,
+      Map<String, MavenProjectInfo> byKey, Set<MavenProjectInfo> visited, List<MavenProjectInfo> sorted) {
+    if(!visited.add(projectInfo)) {
+      return; // already added, or a cycle
+    }
+    List<MavenProjectInfo> required = new ArrayList<>();
+    required.add(projectInfo.getParent());
+    Model model = projectInfo.getModel();
+    if(model != null) {
+      Parent parent = model.getParent();
+      if(parent != null) {
+        required.add(byKey.get(parent.getGroupId() + ":" + parent.getArtifactId())); //$NON-NLS-1$
+      }
+      for(Dependency dependency : model.getDependencies()) {
+        String groupId = "${project.groupId}".equals(dependency.getGroupId()) ? getGroupId(model) //$NON-NLS-1$
+            : dependency.getGroupId();
+        required.add(byKey.get(groupId + ":" + dependency.getArtifactId())); //$NON-NLS-1$
+      }
+    }
+    for(MavenProjectInfo requiredInfo : required) {
+      if(requiredInfo != null && imported.contains(requiredInfo)) {
+        addSortedForImport(requiredInfo, imported, byKey, visited, sorted);
+      }
+    }
+    sorted.add(projectInfo);
+  }
+
+  private static String getGroupId(Model model) {
+    if(model.getGroupId() == null && model.getParent() != null) {
+      return model.getParent().getGroupId();
+    }
+    return model.getGroupId();
+  }
+
   private void setHidden(IResource resource) {
     try {
       resource.setHidden(true);
@@ -365,16 +440,27 @@ public class ProjectConfigurationManager
 
     List<IFile> pomsToRefresh = new ArrayList<>();
 
+    // per project durations of the phases, in milliseconds
+    List<Long> refreshLocalDurations = new ArrayList<>();
+    List<Long> updateConfigDurations = new ArrayList<>();
+    List<Long> cleanDurations = new ArrayList<>();
+
+    // the projects are updated one after the other. A local refresh walks the file system while holding the workspace
+    // lock, so concurrent refreshes would only queue on it, and the configurators expect the exclusive workspace rule
+    // of the update. The per project durations of the phases are logged to spot the slow projects instead.
+
     // refresh from local filesystem
     if(refreshFromLocal) {
       for(IFile pom : pomFiles) {
         IProject project = pom.getProject();
+        long projectStart = System.currentTimeMillis();
         try {
           project.refreshLocal(IResource.DEPTH_INFINITE, monitor.split(1, SubMonitor.SUPPRESS_SUBTASK));
           pomsToRefresh.add(pom);
         } catch(CoreException ex) {
           updateStatus.put(project.getName(), ex.getStatus());
         }
+        refreshLocalDurations.add(System.currentTimeMillis() - projectStart);
       }
     } else {
       pomsToRefresh.addAll(pomFiles);
@@ -419,6 +505,7 @@ public class ProjectConfigurationManager
           return true;
         }
         monitor.subTask(projectName);
+        long projectStart = System.currentTimeMillis();
         try {
           SubMonitor submonitor = monitor.split(1, SubMonitor.SUPPRESS_SUBTASK);
           ProjectConfigurationRequest cfgRequest = new ProjectConfigurationRequest(facade,
@@ -427,6 +514,8 @@ public class ProjectConfigurationManager
         } catch(CoreException ex) {
           updateStatus.put(projectName, ex.getStatus());
           return true;
+        } finally {
+          updateConfigDurations.add(System.currentTimeMillis() - projectStart);
         }
         return false;
       });
@@ -441,6 +530,7 @@ public class ProjectConfigurationManager
         IProject project = facade.getProject();
         monitor.subTask(project.getName());
 
+        long projectStart = System.currentTimeMillis();
         try {
           // only rebuild projects that were successfully updated
           IStatus status = updateStatus.get(project.getName());
@@ -451,29 +541,45 @@ public class ProjectConfigurationManager
         } catch(CoreException ex) {
           updateStatus.put(project.getName(), ex.getStatus());
           return true;
+        } finally {
+          cleanDurations.add(System.currentTimeMillis() - projectStart);
         }
         return false;
       });
     }
 
     long clean = System.currentTimeMillis();
-    log.info("Update completed for {} poms: {}, {}, {} ", pomFiles.size(), //$NON-NLS-1$
-        printDelta("local refresh", start, refreshLocal), printDelta("refresh facades", refreshLocal, refreshProjects),
-        printDelta("update config", refreshProjects, updateConfig),
-        printDelta("clean projects config", updateConfig, clean),
+    log.info("Update completed for {} poms: {}, {}, {}, {}, {}", pomFiles.size(), //$NON-NLS-1$
+        printDelta("local refresh", start, refreshLocal, refreshLocalDurations),
+        printDelta("refresh facades", refreshLocal, refreshProjects),
+        printDelta("update config", refreshProjects, updateConfig, updateConfigDurations),
+        printDelta("clean projects config", updateConfig, clean, cleanDurations),
         printDelta("total", start, clean));
 
     return updateStatus;
   }
 
+  private static String printDelta(String type, long start, long end) {
+    double delay = (end - start) / 1000.0;
+    return String.format("%s takes %.2f sec", type, delay); //$NON-NLS-1$
+  }
+
   /**
-   * @param start
-   * @param refreshLocal
-   * @return
+   * @param durations the durations of the phase for each project, in milliseconds
    */
-  private String printDelta(String type, long start, long end) {
-    double delay = (end - start) / 1000;
-    return String.format("%s takes %.2f sec", type, delay);
+  private static String printDelta(String type, long start, long end, List<Long> durations) {
+    long[] sorted = durations.stream().mapToLong(Long::longValue).sorted().toArray();
+    if(sorted.length == 0) {
+      return printDelta(type, start, end);
+    }
+    return String.format("%s (per project p50 %d ms, p90 %d ms, p99 %d ms, max %d ms)", printDelta(type, start, end), //$NON-NLS-1$
+        percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1]);
+  }
+
+  private static long percentile(long[] sorted, int percentile) {
+    // nearest rank
+    int rank = (int) Math.ceil(percentile * sorted.length / 100.0);
+    return sorted[Math.max(rank, 1) - 1];
   }
 
   private void updateProjectConfiguration(ProjectConfigurationRequest request, IProgressMonitor monitor)
@@ -17,19 +17,32 @@ import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.prefs.BackingStoreException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.embedder.MavenProperties;
@@ -86,6 +99,70 @@ public class ResolverConfigurationIO {
    */
   private static final String VERSION = "1"; //$NON-NLS-1$
 
+  private static final IPath PREFERENCES_PATH = IPath.fromOSString(".settings/" + IMavenConstants.PLUGIN_ID + ".prefs"); //$NON-NLS-1$ //$NON-NLS-2$
+
+  /**
+   * The configuration stored in the preferences of a project, <code>configuration</code> is <code>null</code> if the
+   * project has none. The listener registered on the preferences node invalidates the entry when they change.
+   */
+  private record StoredConfiguration(ResolverConfiguration configuration, String basedir, IEclipsePreferences node,
+      IPreferenceChangeListener listener) {
+
+    void dispose() {
+      if(node != null) {
+        try {
+          node.removePreferenceChangeListener(listener);
+        } catch(IllegalStateException ex) {
+          // the node was removed with its project
+        }
+      }
+    }
+  }
+
+  private static final class StoredConfigurations { // only loaded on first use
+    /**
+     * Reading the preferences of many projects, e.g. when the registry is refreshed, is slow. Entries are removed when
+     * the preferences of their project change or the project is closed, deleted or moved.
+     */
+    static final Map<IProject, StoredConfiguration> CACHE = createCache();
+
+    private static Map<IProject, StoredConfiguration> createCache() {
+      Map<IProject, StoredConfiguration> cache = new ConcurrentHashMap<>();
+      IWorkspace workspace = ResourcesPlugin.getWorkspace();
+      IResourceChangeListener resourceListener = event -> {
+        IResourceDelta delta = event.getDelta();
+        if(delta == null) {
+          return;
+        }
+        for(IResourceDelta projectDelta : delta.getAffectedChildren()) {
+          if(projectDelta.getKind() != IResourceDelta.CHANGED || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0
+              || projectDelta.findMember(PREFERENCES_PATH) != null) {
+            invalidate(projectDelta.getResource().getProject());
+          }
+        }
+      };
+      workspace.addResourceChangeListener(resourceListener, IResourceChangeEvent.POST_CHANGE);
+      Bundle bundle = FrameworkUtil.getBundle(ResolverConfigurationIO.class);
+      BundleContext context = bundle != null ? bundle.getBundleContext() : null;
+      if(context != null) {
+        context.addBundleListener(event -> {
+          if(event.getBundle() == bundle && event.getType() == BundleEvent.STOPPED) {
+            workspace.removeResourceChangeListener(resourceListener);
+            List.copyOf(cache.keySet()).forEach(StoredConfigurations::invalidate);
+          }
+        });
+      }
+      return cache;
+    }
+
+    static void invalidate(IProject project) {
+      StoredConfiguration removed = CACHE.remove(project);
+      if(removed != null) {
+        removed.dispose();
+      }
+    }
+  }
+
   public static boolean saveResolverConfiguration(IProject project, IProjectConfiguration configuration) {
     IEclipsePreferences projectNode = getMavenProjectPreferences(project);
     if(projectNode != null) {
@@ -104,19 +181,35 @@ public class ResolverConfigurationIO {
       } else {
         projectNode.remove(P_PROPERTIES);
       }
+      StoredConfigurations.invalidate(project);
       return savePreferences(projectNode);
     }
     return false;
   }
 
   public static IProjectConfiguration readResolverConfiguration(IProject project) {
+    StoredConfiguration stored = StoredConfigurations.CACHE.computeIfAbsent(project,
+        ResolverConfigurationIO::readStoredConfiguration);
+    if(stored.configuration() == null) { // none or old config to migrate
+      return new ResolverConfiguration(project);
+    }
+    // callers may modify the configuration, and the multi-module project directory depends on the file system
+    ResolverConfiguration configuration = new ResolverConfiguration(stored.configuration());
+    configuration.setMultiModuleProjectDirectory(getBasedir(stored.basedir(), project));
+    return configuration;
+  }
+
+  private static StoredConfiguration readStoredConfiguration(IProject project) {
     IEclipsePreferences projectNode = getMavenProjectPreferences(project);
     if(projectNode == null) {
-      return new ResolverConfiguration(project);
+      return new StoredConfiguration(null, null, null, null);
     }
+    // one listener per cached entry, it is removed when the entry is invalidated
+    IPreferenceChangeListener listener = event -> StoredConfigurations.invalidate(project);
+    projectNode.addPreferenceChangeListener(listener);
     String version = projectNode.get(P_VERSION, null);
     if(version == null) { // migrate from old config
-      return new ResolverConfiguration(project);
+      return new StoredConfiguration(null, null, projectNode, listener);
     }
     ResolverConfiguration configuration = new ResolverConfiguration();
     configuration.setResolveWorkspaceProjects(
@@ -124,8 +217,7 @@ public class ResolverConfigurationIO {
     configuration.setSelectedProfiles(projectNode.get(P_SELECTED_PROFILES, "")); //$NON-NLS-1$
     configuration.setLifecycleMappingId(projectNode.get(P_LIFECYCLE_MAPPING_ID, (String) null));
     configuration.setProperties(stringAsProperties(projectNode.get(P_PROPERTIES, null)));
-    configuration.setMultiModuleProjectDirectory(getBasedir(projectNode, project));
-    return configuration;
+    return new StoredConfiguration(configuration, projectNode.get(P_BASEDIR, null), projectNode, listener);
   }
 
   public static boolean isAutomaticallyUpdateConfiguration(IProject project) {
@@ -164,8 +256,7 @@ public class ResolverConfigurationIO {
     return false;
   }
 
-  private static File getBasedir(IEclipsePreferences projectNode, IProject project) {
-    String basedirSetting = projectNode.get(P_BASEDIR, null);
+  private static File getBasedir(String basedirSetting, IProject project) {
     if(basedirSetting != null) {
       File directory = new File(basedirSetting);
       if(directory.isDirectory()) {
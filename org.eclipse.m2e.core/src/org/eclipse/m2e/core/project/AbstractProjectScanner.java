@@ -15,6 +15,7 @@ package org.eclipse.m2e.core.project;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -31,6 +32,8 @@ public abstract class AbstractProjectScanner<T extends MavenProjectInfo> {
 
   private final List<Throwable> errors = new ArrayList<>();
 
+  private volatile Consumer<? super T> projectListener;
+
   /**
    * Returns <code>List</code> of {@link MavenProjectInfo}
    */
@@ -45,12 +48,40 @@ public abstract class AbstractProjectScanner<T extends MavenProjectInfo> {
     return this.errors;
   }
 
+  /**
+   * Sets a listener that is notified of each project as soon as it was found, possibly from a thread other than the one
+   * that runs this scanner. The reported projects are preliminary, they are not part of the project hierarchy yet. The
+   * projects of {@link #getProjects()} replace them once the scanner ran. Scanners that do not report the projects
+   * while they run never notify the listener.
+   *
+   * @since 2.7
+   */
+  public void setProjectListener(Consumer<? super T> projectListener) {
+    this.projectListener = projectListener;
+  }
+
   protected void addProject(T mavenProjectInfo) {
-    projects.add(mavenProjectInfo);
+    synchronized(projects) {
+      projects.add(mavenProjectInfo);
+    }
+  }
+
+  /**
+   * Reports a project found while this scanner runs to the listener, see {@link #setProjectListener(Consumer)}.
+   *
+   * @since 2.7
+   */
+  protected void projectFound(T mavenProjectInfo) {
+    Consumer<? super T> listener = projectListener;
+    if(listener != null) {
+      listener.accept(mavenProjectInfo);
+    }
   }
 
   protected void addError(Throwable exception) {
-    errors.add(exception);
+    synchronized(errors) {
+      errors.add(exception);
+    }
   }
 
   public abstract String getDescription();
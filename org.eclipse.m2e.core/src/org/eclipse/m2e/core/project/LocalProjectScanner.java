@@ -15,14 +15,29 @@ package org.eclipse.m2e.core.project;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.util.NLS;
@@ -39,14 +54,42 @@ import org.eclipse.m2e.core.internal.Messages;
  * @author Eugene Kuleshov
  */
 public class LocalProjectScanner extends AbstractProjectScanner<MavenProjectInfo> {
+  /**
+   * Names of folders that are not searched for projects, unless they are modules of a found project
+   */
+  private static final Set<String> IGNORED_FOLDERS = Set.of(IMavenConstants.METADATA_FOLDER, "target", //$NON-NLS-1$
+      "node_modules", ".git"); //$NON-NLS-1$ //$NON-NLS-2$
+
+  private static final int PARALLELISM = Integer.getInteger("m2e.projectscanner.threads", //$NON-NLS-1$
+      Runtime.getRuntime().availableProcessors());
+
   private final List<String> folders;
 
   private final boolean basedirRemameRequired;
 
   private final Set<File> scannedFolders = new HashSet<>();
 
+  /**
+   * the models read while searching, by canonical project folder
+   */
+  private final Map<File, CompletableFuture<ReadModel>> models = new ConcurrentHashMap<>();
+
+  /**
+   * the folders found to contain a pom while searching, with their path relative to the searched folder
+   */
+  private final Map<File, String> projectFolders = new ConcurrentHashMap<>();
+
+  /**
+   * the real paths of the folders searched for projects, guards against cycles of symbolic links
+   */
+  private final Set<Path> searchedFolders = ConcurrentHashMap.newKeySet();
+
   private final MavenModelManager modelManager;
 
+  private volatile boolean canceled;
+
+  private volatile Path currentFolder;
+
 
   public LocalProjectScanner(List<String> folders, boolean basedirRemameRequired,
       MavenModelManager modelManager) {
@@ -55,65 +98,223 @@ public class LocalProjectScanner extends AbstractProjectScanner<MavenProjectInfo
     this.modelManager = modelManager;
   }
 
+  private record ReadModel(Model model, CoreException error) {
+  }
+
+  /**
+   * Searches the folders in parallel. Each folder is a task of a fork-join pool that reads the folder's pom and those of
+   * its modules or, if it has no project, forks a task per sub folder. Each project is reported to the listener once
+   * its pom was read. The project hierarchy is built from the read models once the search completed, so a project that
+   * is a module of another one is always found as that module, no matter which task reached its folder first.
+   */
   @Override
   public void run(IProgressMonitor monitor) throws InterruptedException {
-    SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.LocalProjectScanner_task_scanning, folders.size());
+    SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.LocalProjectScanner_task_scanning,
+        IProgressMonitor.UNKNOWN);
+    // the workers read projects in the context of the calling thread
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    ForkJoinPool pool = new ForkJoinPool(PARALLELISM, p -> {
+      ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+      worker.setContextClassLoader(contextClassLoader);
+      return worker;
+    }, null, false);
     try {
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
       for(String folderName : folders) {
         try {
-          File folder = new File(folderName).getCanonicalFile();
-          scanFolder(folder, "", subMonitor.split(1)); //$NON-NLS-1$
+          Path folder = new File(folderName).getCanonicalFile().toPath();
+          if(searchedFolders.add(folder)) {
+            tasks.add(pool.submit(new ScanFolderTask(folder, ""))); //$NON-NLS-1$
+          }
         } catch(IOException ex) {
           addError(ex);
         }
       }
+      for(ForkJoinTask<?> task : tasks) {
+        while(!task.isDone()) {
+          if(subMonitor.isCanceled()) {
+            canceled = true;
+            throw new OperationCanceledException();
+          }
+          Path folder = currentFolder;
+          if(folder != null) {
+            subMonitor.subTask(folder.toString());
+          }
+          try {
+            task.get(100, TimeUnit.MILLISECONDS);
+          } catch(TimeoutException ex) {
+            // check for cancellation and report progress
+          } catch(ExecutionException ex) {
+            addError(ex.getCause());
+          }
+        }
+      }
+      // projects that are modules of other found projects are read as part of those
+      Set<File> moduleFolders = getModuleFolders();
+      List<File> baseDirs = new ArrayList<>(projectFolders.keySet());
+      baseDirs.sort(Comparator.comparing((File baseDir) -> moduleFolders.contains(baseDir))
+          .thenComparing(Comparator.naturalOrder()));
+      for(File folder : baseDirs) {
+        if(subMonitor.isCanceled()) {
+          throw new OperationCanceledException();
+        }
+        MavenProjectInfo projectInfo = readMavenProjectInfo(folder, projectFolders.get(folder), null);
+        if(projectInfo != null) {
+          addProject(projectInfo);
+        }
+      }
     } finally {
+      pool.shutdownNow();
       subMonitor.done();
     }
   }
 
-  private void scanFolder(File baseDir, String rootRelPath, IProgressMonitor m) throws InterruptedException {
-    SubMonitor monitor = SubMonitor.convert(m, baseDir.toString(), 1);
+  private Set<File> getModuleFolders() {
+    Set<File> moduleFolders = new HashSet<>();
+    models.forEach((baseDir, read) -> {
+      Model model = read.isDone() && !read.isCompletedExceptionally() ? read.join().model() : null;
+      if(model != null) {
+        for(String module : getModules(model).keySet()) {
+          try {
+            moduleFolders.add(new File(baseDir, module).getCanonicalFile());
+          } catch(IOException ex) {
+            // reported when the module is read
+          }
+        }
+      }
+    });
+    return moduleFolders;
+  }
 
-    // Don't scan the .metadata folder
-    if(!baseDir.isDirectory() || IMavenConstants.METADATA_FOLDER.equals(baseDir.getName())) {
-      monitor.done();
-      return;
+  /**
+   * Reads the model of the project in the given canonical folder once and, in parallel, those of its modules.
+   *
+   * @param modulePath the path of the folder relative to the searched folder or the project it is a module of
+   */
+  private ReadModel loadModel(File baseDir, String modulePath) {
+    CompletableFuture<ReadModel> future = new CompletableFuture<>();
+    CompletableFuture<ReadModel> existing = models.putIfAbsent(baseDir, future);
+    if(existing != null) {
+      return existing.join();
     }
-
+    ReadModel read;
     try {
-      if(scannedFolders.contains(baseDir.getCanonicalFile())) {
-        monitor.done();
-        return;
+      read = new ReadModel(modelManager.readMavenModel(new File(baseDir, IMavenConstants.POM_FILE_NAME)), null);
+    } catch(CoreException ex) {
+      read = new ReadModel(null, ex);
+    } catch(RuntimeException ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    }
+    future.complete(read);
+    Model model = read.model();
+    if(model != null && model.getArtifactId() != null) {
+      String pomName = modulePath + "/" + model.getPomFile().getName(); //$NON-NLS-1$
+      projectFound(newMavenProjectInfo(pomName, model.getPomFile(), model, null));
+    }
+    if(model != null) {
+      List<LoadModelTask> moduleTasks = new ArrayList<>();
+      for(String module : getModules(model).keySet()) {
+        try {
+          moduleTasks.add(new LoadModelTask(new File(baseDir, module).getCanonicalFile(), module));
+        } catch(IOException ex) {
+          // reported when the module is read
+        }
       }
-    } catch(IOException ex1) {
-      addError(ex1);
-      return;
+      ForkJoinTask.invokeAll(moduleTasks);
+    }
+    return read;
+  }
+
+  private Model readMavenModel(File baseDir) throws CoreException {
+    CompletableFuture<ReadModel> future = models.get(baseDir);
+    if(future == null || !future.isDone() || future.isCompletedExceptionally()) {
+      return modelManager.readMavenModel(new File(baseDir, IMavenConstants.POM_FILE_NAME));
+    }
+    ReadModel read = future.join();
+    if(read.error() != null) {
+      throw read.error();
     }
+    return read.model();
+  }
+
+  private final class LoadModelTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
 
-    MavenProjectInfo projectInfo = readMavenProjectInfo(baseDir, rootRelPath, null);
-    if(projectInfo != null) {
-      addProject(projectInfo);
-      monitor.done();
-      return; // don't scan subfolders of the Maven project
+    private final File baseDir;
+
+    private final String modulePath;
+
+    LoadModelTask(File baseDir, String modulePath) {
+      this.baseDir = baseDir;
+      this.modulePath = modulePath;
     }
 
-    File[] files = baseDir.listFiles();
-    if(files == null) {
-      addError(new Exception(NLS.bind(Messages.LocalProjectScanner_accessDeniedFromFolder, baseDir.getAbsolutePath())));
-      return;
+    @Override
+    protected void compute() {
+      if(!canceled) {
+        loadModel(baseDir, modulePath);
+      }
     }
-    monitor.setWorkRemaining(files.length);
-    for(File file : files) {
-      try {
-        file = file.getCanonicalFile();
-        scanFolder(file, rootRelPath + "/" + file.getName(), monitor.split(1)); //$NON-NLS-1$
+  }
+
+  private final class ScanFolderTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Path folder;
+
+    private final String rootRelPath;
+
+    ScanFolderTask(Path folder, String rootRelPath) {
+      this.folder = folder;
+      this.rootRelPath = rootRelPath;
+    }
+
+    @Override
+    protected void compute() {
+      if(canceled || !Files.isDirectory(folder) || IMavenConstants.METADATA_FOLDER.equals(getName(folder))) {
+        return;
+      }
+      currentFolder = folder;
+      if(Files.isRegularFile(folder.resolve(IMavenConstants.POM_FILE_NAME))) {
+        File baseDir;
+        try {
+          baseDir = folder.toFile().getCanonicalFile();
+        } catch(IOException ex) {
+          addError(ex);
+          return;
+        }
+        projectFolders.putIfAbsent(baseDir, rootRelPath);
+        Model model = loadModel(baseDir, rootRelPath).model();
+        if(model != null && model.getArtifactId() != null) {
+          return; // don't scan subfolders of the Maven project
+        }
+      }
+      List<ScanFolderTask> subTasks = new ArrayList<>();
+      try (DirectoryStream<Path> children = Files.newDirectoryStream(folder)) {
+        for(Path child : children) {
+          String name = getName(child);
+          if(IGNORED_FOLDERS.contains(name) || !Files.isDirectory(child)) {
+            continue;
+          }
+          Path childFolder = Files.isSymbolicLink(child) ? child.toRealPath() : child;
+          if(searchedFolders.add(childFolder)) {
+            subTasks.add(new ScanFolderTask(childFolder, rootRelPath + "/" + name)); //$NON-NLS-1$
+          }
+        }
       } catch(IOException ex) {
-        addError(ex);
+        addError(new Exception(NLS.bind(Messages.LocalProjectScanner_accessDeniedFromFolder, folder)));
+        return;
       }
+      invokeAll(subTasks);
     }
   }
 
+  private static String getName(Path path) {
+    Path name = path.getFileName();
+    return name != null ? name.toString() : ""; //$NON-NLS-1$
+  }
+
   private MavenProjectInfo readMavenProjectInfo(File baseDir, String modulePath, MavenProjectInfo parentInfo) {
     try {
       baseDir = baseDir.getCanonicalFile();
@@ -122,7 +323,7 @@ public class LocalProjectScanner extends AbstractProjectScanner<MavenProjectInfo
         return null; // we already know this project
         //mkleint: well, if the project is first scanned standalone and later scanned via parent reference, the parent ref gets thrown away??
       }
-      Model model = modelManager.readMavenModel(new File(baseDir, IMavenConstants.POM_FILE_NAME));
+      Model model = readMavenModel(baseDir);
       if(model == null) {
         return null;
       }
@@ -137,28 +338,7 @@ public class LocalProjectScanner extends AbstractProjectScanner<MavenProjectInfo
         projectInfo.setBasedirRename(getBasedirRename(projectInfo));
       }
 
-      Map<String, Set<String>> modules = new LinkedHashMap<>();
-      for(String module : model.getModules()) {
-        if(module.endsWith("/pom.xml")) { //$NON-NLS-1$
-          module = module.substring(0, module.length() - "/pom.xml".length()); //$NON-NLS-1$
-        }
-        modules.put(module, new HashSet<>());
-      }
-
-      for(Profile profile : model.getProfiles()) {
-        for(String module : profile.getModules()) {
-          if(module.endsWith("/pom.xml")) { //$NON-NLS-1$
-            module = module.substring(0, module.length() - "/pom.xml".length()); //$NON-NLS-1$
-          }
-          Set<String> profiles = modules.get(module);
-          if(profiles == null) {
-            profiles = new HashSet<>();
-            modules.put(module, profiles);
-          }
-          profiles.add(profile.getId());
-        }
-      }
-
+      Map<String, Set<String>> modules = getModules(model);
       for(Map.Entry<String, Set<String>> e : modules.entrySet()) {
         String module = e.getKey();
         Set<String> profiles = e.getValue();
@@ -180,6 +360,34 @@ public class LocalProjectScanner extends AbstractProjectScanner<MavenProjectInfo
     return null;
   }
 
+  /**
+   * @return the module folders of the given model, with the ids of the profiles declaring them
+   */
+  private static Map<String, Set<String>> getModules(Model model) {
+    Map<String, Set<String>> modules = new LinkedHashMap<>();
+    for(String module : model.getModules()) {
+      if(module.endsWith("/pom.xml")) { //$NON-NLS-1$
+        module = module.substring(0, module.length() - "/pom.xml".length()); //$NON-NLS-1$
+      }
+      modules.put(module, new HashSet<>());
+    }
+
+    for(Profile profile : model.getProfiles()) {
+      for(String module : profile.getModules()) {
+        if(module.endsWith("/pom.xml")) { //$NON-NLS-1$
+          module = module.substring(0, module.length() - "/pom.xml".length()); //$NON-NLS-1$
+        }
+        Set<String> profiles = modules.get(module);
+        if(profiles == null) {
+          profiles = new HashSet<>();
+          modules.put(module, profiles);
+        }
+        profiles.add(profile.getId());
+      }
+    }
+    return modules;
+  }
+
   protected MavenProjectInfo newMavenProjectInfo(String label, File pomFile, Model model, MavenProjectInfo parent) {
     return new MavenProjectInfo(label, pomFile, model, parent);
   }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -30,7 +31,6 @@ import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.core.resources.IContainer;
-import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -248,12 +248,19 @@ public class PDEMavenBundlePluginConfigurator extends AbstractProjectConfigurato
 				});
 
 				boolean changed = sizeBefore != rawClasspath.size();
+				Map<File, IPath> newJars = new LinkedHashMap<>();
 				for (IPath jarPath : bundleClasspathJars) {
 					if (!existingLibraryPaths.contains(jarPath)) {
-						rawClasspath.add(createLibraryEntry(jarPath, monitor));
-						changed = true;
+						newJars.put(ResourcesPlugin.getWorkspace().getRoot().getFile(jarPath).getLocation().toFile(),
+								jarPath);
 					}
 				}
+				if (!newJars.isEmpty()) {
+					// identify all new jars at once, in parallel
+					MavenArtifactIdentifier.identify(newJars.keySet()).forEach((jar, artifacts) -> rawClasspath
+							.add(createLibraryEntry(newJars.get(jar), artifacts, monitor)));
+					changed = true;
+				}
 				if (changed) {
 					javaProject.setRawClasspath(rawClasspath.toArray(IClasspathEntry[]::new), monitor);
 				}
@@ -314,11 +321,10 @@ public class PDEMavenBundlePluginConfigurator extends AbstractProjectConfigurato
 							&& Boolean.parseBoolean(a.getValue()));
 		}
 
-		private static IClasspathEntry createLibraryEntry(IPath libPath, IProgressMonitor monitor) {
+		private static IClasspathEntry createLibraryEntry(IPath libPath, Collection<ArtifactKey> artifacts,
+				IProgressMonitor monitor) {
 			IClasspathAttribute[] attributes = new IClasspathAttribute[] {
 					JavaCore.newClasspathAttribute(IClasspathManager.POMDERIVED_ATTRIBUTE, Boolean.toString(true)) };
-			IFile libFile = ResourcesPlugin.getWorkspace().getRoot().getFile(libPath);
-			Collection<ArtifactKey> artifacts = MavenArtifactIdentifier.identify(libFile.getLocation().toFile());
 			IPath sourcePath = artifacts.stream().map(a -> MavenArtifactIdentifier.resolveSourceLocation(a, monitor))
 					.filter(Objects::nonNull).map(Path::toString).map(IPath::fromOSString).findFirst().orElse(null);
 			return JavaCore.newLibraryEntry(libPath, sourcePath, null, null, attributes, true);
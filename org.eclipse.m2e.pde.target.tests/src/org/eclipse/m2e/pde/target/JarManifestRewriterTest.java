@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.pde.target;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes.Name;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarManifestRewriterTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testStoredAndDeflatedEntries() throws Exception {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put(JarFile.MANIFEST_NAME, "Manifest-Version: 1.0\r\nOld: true\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+		entries.put("org/example/Foo.java", content("class Foo {}", 100));
+		entries.put("org/example/empty.txt", new byte[0]);
+		entries.put("org/example/Bar.java", content("class Bar {}", 1000));
+		File source = writeZip(entries, ZipEntry.DEFLATED, "org/example/Foo.java", "org/example/empty.txt");
+		File target = rewrite(source);
+		assertRewritten(entries, target);
+	}
+
+	@Test
+	public void testDataDescriptors() throws Exception {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put("META-INF/", new byte[0]);
+		entries.put(JarFile.MANIFEST_NAME, "Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+		entries.put("org/example/Foo.java", content("class Foo {}", 100));
+		// deflated entries written to a stream have their sizes and checksum in a
+		// data descriptor after the data
+		File source = writeZip(entries, ZipEntry.DEFLATED);
+		assertTrue(hasDataDescriptor(source));
+		File target = rewrite(source);
+		assertRewritten(entries, target);
+	}
+
+	@Test
+	public void testWithoutManifest() throws Exception {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put("org/example/Foo.java", content("class Foo {}", 10));
+		entries.put("org/example/Bar.java", content("class Bar {}", 10));
+		File source = writeZip(entries, ZipEntry.DEFLATED);
+		File target = rewrite(source);
+		assertRewritten(entries, target);
+	}
+
+	@Test
+	public void testManifestIsNotTheFirstEntry() throws Exception {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put("org/example/Foo.java", content("class Foo {}", 10));
+		entries.put(JarFile.MANIFEST_NAME, "Manifest-Version: 1.0\r\nOld: true\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+		entries.put("org/example/Bar.java", content("class Bar {}", 10));
+		File source = writeZip(entries, ZipEntry.DEFLATED, "org/example/Bar.java");
+		File target = rewrite(source);
+		assertRewritten(entries, target);
+	}
+
+	@Test
+	public void testZip64IsRejected() throws Exception {
+		// more entries than the end of central directory record can count
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		for (int i = 0; i < 0x10000; i++) {
+			entries.put("e" + i, new byte[0]);
+		}
+		entries.put("org/example/Foo.java", content("class Foo {}", 10));
+		File source = writeZip(entries, ZipEntry.DEFLATED);
+		File target = temporaryFolder.newFile("rewritten.jar");
+		assertThrows(ZipException.class, () -> JarManifestRewriter.rewrite(source, manifest(), target));
+		// the source bundle is written entry by entry then
+		MavenSourceBundle.transferJarEntries(source, manifest(), target);
+		assertRewritten(entries, target);
+	}
+
+	private File rewrite(File source) throws IOException {
+		File target = new File(temporaryFolder.getRoot(), "rewritten.jar");
+		JarManifestRewriter.rewrite(source, manifest(), target);
+		return target;
+	}
+
+	private static Manifest manifest() {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().putValue("Bundle-SymbolicName", "org.example.source");
+		return manifest;
+	}
+
+	/**
+	 * Asserts that the given jar has the new manifest as its first entry, followed
+	 * by the given entries without the old manifest, read both from the central
+	 * directory and as a stream that verifies the checksums of the entries
+	 */
+	private static void assertRewritten(Map<String, byte[]> expected, File jar) throws IOException {
+		Map<String, byte[]> entries = new LinkedHashMap<>(expected);
+		entries.remove(JarFile.MANIFEST_NAME);
+		try (JarFile jarFile = new JarFile(jar)) {
+			assertEquals(manifest(), jarFile.getManifest());
+			List<String> names = new ArrayList<>();
+			for (JarEntry entry : Collections.list(jarFile.entries())) {
+				names.add(entry.getName());
+				if (!JarFile.MANIFEST_NAME.equals(entry.getName())) {
+					byte[] data;
+					try (InputStream stream = jarFile.getInputStream(entry)) {
+						data = stream.readAllBytes();
+					}
+					assertArrayEquals(entry.getName(), entries.get(entry.getName()), data);
+					assertEquals(entry.getName(), crc(data), entry.getCrc());
+					assertEquals(entry.getName(), data.length, entry.getSize());
+				}
+			}
+			List<String> expectedNames = new ArrayList<>();
+			expectedNames.add(JarFile.MANIFEST_NAME);
+			expectedNames.addAll(entries.keySet());
+			assertEquals(expectedNames, names);
+		}
+		// the stream fails with a ZipException if the checksum or size of an entry
+		// does not match its data
+		try (JarInputStream stream = new JarInputStream(new FileInputStream(jar))) {
+			Manifest manifest = stream.getManifest();
+			assertNotNull(manifest);
+			assertEquals(manifest(), manifest);
+			List<String> names = new ArrayList<>();
+			for (JarEntry entry; (entry = stream.getNextJarEntry()) != null;) {
+				names.add(entry.getName());
+				assertArrayEquals(entry.getName(), entries.get(entry.getName()), stream.readAllBytes());
+			}
+			assertEquals(new ArrayList<>(entries.keySet()), names);
+		}
+	}
+
+	private File writeZip(Map<String, byte[]> entries, int method, String... storedEntries) throws IOException {
+		List<String> stored = List.of(storedEntries);
+		File file = temporaryFolder.newFile("source.jar");
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			out.setMethod(method);
+			for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				ZipEntry zipEntry = new ZipEntry(entry.getKey());
+				byte[] data = entry.getValue();
+				if (stored.contains(entry.getKey())) {
+					zipEntry.setMethod(ZipEntry.STORED);
+					zipEntry.setSize(data.length);
+					zipEntry.setCompressedSize(data.length);
+					zipEntry.setCrc(crc(data));
+				}
+				out.putNextEntry(zipEntry);
+				out.write(data);
+				out.closeEntry();
+			}
+		}
+		return file;
+	}
+
+	private static boolean hasDataDescriptor(File zip) throws IOException {
+		byte[] data;
+		try (InputStream stream = new FileInputStream(zip)) {
+			data = stream.readAllBytes();
+		}
+		// the general purpose flags of the first local header
+		return (data[6] & 0x08) != 0;
+	}
+
+	private static byte[] content(String line, int lines) {
+		return (line + "\n").repeat(lines).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static long crc(byte[] data) {
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		return crc.getValue();
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.pde.target;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.m2e.pde.target.ResolutionCache.ArtifactBundles;
+import org.eclipse.m2e.pde.target.ResolutionCache.ArtifactKey;
+import org.eclipse.m2e.pde.target.ResolutionCache.RootGraph;
+import org.eclipse.m2e.pde.target.ResolutionCache.RootKey;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResolutionCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@After
+	public void clearCache() {
+		ResolutionCache.clear();
+	}
+
+	@Test
+	public void testWriteAndRead() throws Exception {
+		MavenTargetDependency root = new MavenTargetDependency("org.example", "root", "1.0", "jar", "");
+		Artifact rootArtifact = artifact("root", "");
+		Artifact library = artifact("library", "");
+		Artifact tests = artifact("library", "tests");
+		DefaultDependencyNode rootNode = new DefaultDependencyNode(new Dependency(rootArtifact, "compile"));
+		DefaultDependencyNode libraryNode = new DefaultDependencyNode(new Dependency(library, "compile", true));
+		DefaultDependencyNode testsNode = new DefaultDependencyNode(new Dependency(tests, "test"));
+		rootNode.setChildren(List.of(libraryNode, testsNode));
+		libraryNode.setChildren(List.of(testsNode));
+		RootKey rootKey = ResolutionCache.rootKey(root, DependencyDepth.INFINITE, List.of("test", "compile"),
+				List.of(new MavenTargetRepository("central", "https://repo.maven.apache.org/maven2")));
+		ResolutionCache.putRootGraph(rootKey, root, rootArtifact, List.of(rootNode, libraryNode, testsNode),
+				List.of(rootArtifact, library, tests));
+		File featureFile = temporaryFolder.newFile("feature.xml");
+		ArtifactKey featureKey = new ArtifactKey(library, "settings");
+		ResolutionCache.putArtifactBundles(featureKey, featureFile, null, null, null);
+		ArtifactKey unusedKey = new ArtifactKey(tests, "settings");
+		ResolutionCache.putArtifactBundles(unusedKey, null, null, null, null);
+
+		Path file = temporaryFolder.getRoot().toPath().resolve("resolution");
+		ResolutionCache.write(file, Set.of(rootKey), Set.of(featureKey));
+		ResolutionCache.clear();
+		assertNull(ResolutionCache.getRootGraph(rootKey, root, null));
+		ResolutionCache.read(file, null);
+
+		RootKey readKey = ResolutionCache.rootKey(root, DependencyDepth.INFINITE, List.of("compile", "test"),
+				List.of(new MavenTargetRepository("central", "https://repo.maven.apache.org/maven2")));
+		RootGraph graph = ResolutionCache.getRootGraph(readKey, root, null);
+		assertNotNull(graph);
+		assertEquals(rootArtifact, graph.artifact());
+		assertEquals(List.of(rootArtifact, library, tests), graph.artifacts());
+		List<DependencyNode> nodes = graph.nodes();
+		assertEquals(3, nodes.size());
+		DependencyNode readRoot = nodes.get(0);
+		assertEquals(rootArtifact, readRoot.getArtifact());
+		assertEquals(root, readRoot.getData().get(MavenTargetLocation.DEPENDENCYNODE_ROOT));
+		assertEquals(List.of(nodes.get(1), nodes.get(2)), readRoot.getChildren());
+		// a node reached by several paths is still a single node
+		assertEquals(List.of(nodes.get(2)), nodes.get(1).getChildren());
+		assertEquals("compile", nodes.get(1).getDependency().getScope());
+		assertTrue(nodes.get(1).getDependency().isOptional());
+		assertEquals("test", nodes.get(2).getDependency().getScope());
+		assertEquals(tests, nodes.get(2).getArtifact());
+
+		ArtifactBundles bundles = ResolutionCache.getArtifactBundles(featureKey);
+		assertNotNull(bundles);
+		assertEquals(featureFile, bundles.featureFile());
+		assertNull(bundles.bundle());
+		// only the given keys are written
+		assertNull(ResolutionCache.getArtifactBundles(unusedKey));
+	}
+
+	@Test
+	public void testChangedFilesAreNotRead() throws Exception {
+		MavenTargetDependency root = new MavenTargetDependency("org.example", "root", "1.0", "jar", "");
+		Artifact rootArtifact = artifact("root", "");
+		RootKey rootKey = ResolutionCache.rootKey(root, DependencyDepth.NONE, List.of("compile"), List.of());
+		ResolutionCache.putRootGraph(rootKey, root, rootArtifact, List.of(), List.of(rootArtifact));
+		ArtifactKey artifactKey = new ArtifactKey(rootArtifact, "settings");
+		ResolutionCache.putArtifactBundles(artifactKey, null, null, null, null);
+
+		Path file = temporaryFolder.getRoot().toPath().resolve("resolution");
+		ResolutionCache.write(file, Set.of(rootKey), Set.of(artifactKey));
+		ResolutionCache.clear();
+		File jar = rootArtifact.getFile();
+		assertTrue(jar.setLastModified(jar.lastModified() + 10_000));
+		ResolutionCache.read(file, null);
+
+		assertNull(ResolutionCache.getRootGraph(rootKey, root, null));
+		assertNull(ResolutionCache.getArtifactBundles(artifactKey));
+	}
+
+	@Test
+	public void testCachedGraphIsCopied() throws Exception {
+		MavenTargetDependency root = new MavenTargetDependency("org.example", "root", "1.0", "jar", "");
+		Artifact rootArtifact = artifact("root", "");
+		Artifact library = artifact("library", "");
+		DefaultDependencyNode rootNode = new DefaultDependencyNode(rootArtifact);
+		DefaultDependencyNode libraryNode = new DefaultDependencyNode(library);
+		rootNode.setChildren(List.of(libraryNode));
+		RootKey rootKey = ResolutionCache.rootKey(root, DependencyDepth.DIRECT, List.of("compile"), List.of());
+		ResolutionCache.putRootGraph(rootKey, root, rootArtifact, List.of(rootNode, libraryNode),
+				List.of(rootArtifact, library));
+
+		List<DependencyNode> first = ResolutionCache.getRootGraph(rootKey, root, null).nodes();
+		first.get(1).setData(MavenTargetLocation.DEPENDENCYNODE_PARENT, first.get(0));
+		List<DependencyNode> second = ResolutionCache.getRootGraph(rootKey, root, null).nodes();
+		assertNotSame(first.get(1), second.get(1));
+		assertEquals(second.get(1), second.get(0).getChildren().get(0));
+		assertNull(second.get(1).getData().get(MavenTargetLocation.DEPENDENCYNODE_PARENT));
+	}
+
+	private Artifact artifact(String artifactId, String classifier) throws Exception {
+		String name = artifactId + (classifier.isEmpty() ? "" : "-" + classifier) + ".jar";
+		File file = new File(temporaryFolder.getRoot(), name);
+		if (!file.exists()) {
+			Files.writeString(file.toPath(), name);
+		}
+		return new DefaultArtifact("org.example", artifactId, classifier, "jar", "1.0").setFile(file);
+	}
+}
@@ -137,4 +137,36 @@ public class MavenTargetsTransitiveDependenciesTest extends AbstractMavenTargetT
 		assertTargetBundles(target, expectedBundles);
 		assertArrayEquals(EMPTY, target.getFeatures());
 	}
+
+	@Test
+	public void testRootsWithSharedDependencies() throws Exception {
+		// the roots are resolved in parallel, junit-jupiter-params depends on the other
+		// root and both depend on the apiguardian-api
+		String targetDefinition = """
+				<location includeDependencyDepth="%s" includeDependencyScopes="%s" includeSource="%s" missingManifest="error" type="Maven">
+					<dependencies>
+						<dependency>
+							<groupId>org.junit.jupiter</groupId>
+							<artifactId>junit-jupiter-api</artifactId>
+							<version>5.9.3</version>
+							<type>jar</type>
+						</dependency>
+						<dependency>
+							<groupId>org.junit.jupiter</groupId>
+							<artifactId>junit-jupiter-params</artifactId>
+							<version>5.9.3</version>
+							<type>jar</type>
+						</dependency>
+					</dependencies>
+				</location>
+				"""
+				.formatted(dependencyDepth, dependencyScopes, sources);
+		ITargetLocation target = resolveMavenTarget(targetDefinition);
+		List<ExpectedBundle> expected = "none".equals(dependencyDepth) //
+				? List.of(junitJupiter("junit-jupiter-api"), junitJupiter("junit-jupiter-params"))
+				: List.of(junitJupiter("junit-jupiter-api"), junitJupiter("junit-jupiter-params"),
+						junitPlatform("junit-platform-commons"), apiGuardian(), opentest4j());
+		assertTargetBundles(target, Boolean.parseBoolean(sources) ? withSourceBundles(expected) : expected);
+		assertArrayEquals(EMPTY, target.getFeatures());
+	}
 }
\ No newline at end of file
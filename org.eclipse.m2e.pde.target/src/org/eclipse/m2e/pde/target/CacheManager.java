@@ -20,20 +20,33 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
-import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.file.DeletingPathVisitor;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.m2e.pde.target.ResolutionCache.ArtifactKey;
+import org.eclipse.m2e.pde.target.ResolutionCache.RootKey;
 import org.eclipse.pde.core.target.ITargetHandle;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
@@ -42,35 +55,82 @@ import org.osgi.framework.FrameworkUtil;
  *
  * The cache manager serves the following purpose:
  * <ul>
- * <li>adding a synchronization point for code working on the same (effective)
- * target model (e.g. active target in eclipse and a target editor opened)</li>
+ * <li>adding a synchronization point for code working on the same artifact,
+ * using locks striped by the cache entry, so unrelated artifacts can be
+ * accessed concurrently</li>
  * <li>prevent different processes/jvm to access the same file using
  * file-locks</li>
- * <li>providing a storage area for each target for example if different targets
- * reference the same maven artifact but with different properties</li>
- * <li>allows to remove target content that has not been used for a long
- * time</li>
+ * <li>providing a storage area shared by all targets for the features unpacked
+ * from and the source bundles generated for artifacts, that is addressed by
+ * the coordinates, size and modification time of an artifact and a variant, so
+ * the data derived from the same artifact is only created once even if several
+ * targets reference it, but different properties of the targets still result
+ * in different entries. The bundles wrapped by bnd are not part of it, they are
+ * stored next to the artifact in the local repository by the
+ * {@link org.eclipse.m2e.pde.target.shared.MavenBundleWrapper}</li>
+ * <li>evicting the least recently used entries not used by a target of the
+ * current session once the storage area exceeds its maximum size</li>
+ * <li>storing the resolution of each target, so it can be reused in the next
+ * session</li>
  * </ul>
  */
 class CacheManager {
 
-	private static final String LASTACCESS_MARKER = ".lastaccess";
+	private static final String STORE_FOLDER = "store";
+
+	private static final String RESOLUTIONS_FOLDER = "resolutions";
+
+	/**
+	 * maximum size of the storage area in megabytes
+	 */
+	private static final long MAX_STORE_SIZE = Long.getLong("m2e.pde.target.cache.size", 1024) * 1024 * 1024;
 
 	private static Path baseDir;
 
 	private static final Map<String, CacheManager> MANAGERS = new HashMap<>();
 
-	private final Path folder;
+	/**
+	 * the entries of the store used in this session, they are not evicted as the
+	 * target platform might still refer to their files even if the target that
+	 * used them was resolved again in the meantime
+	 */
+	private static final Set<Path> PINNED_ENTRIES = ConcurrentHashMap.newKeySet();
 
-	private CacheManager(String cacheKey) {
-		this.folder = getCacheBaseDir().resolve(cacheKey);
-		try {
-			Files.writeString(folder.resolve(LASTACCESS_MARKER), ""); // touch last access
-		} catch (IOException e) {
-			// can't mark last access then...
+	private static final Job EVICTION_JOB = Job.createSystem("Evict Maven target cache entries",
+			monitor -> {
+				evictEntries(getStoreDir(), MAX_STORE_SIZE, monitor);
+				return Status.OK_STATUS;
+			});
+
+	/**
+	 * guard the file locks of the entries, as a JVM can only hold one lock of a
+	 * file
+	 */
+	private static final Lock[] ENTRY_LOCKS = new Lock[64];
+
+	static {
+		for (int i = 0; i < ENTRY_LOCKS.length; i++) {
+			ENTRY_LOCKS[i] = new ReentrantLock();
 		}
 	}
 
+	private final String targetId;
+
+	private record Resolution(Set<RootKey> roots, Set<ArtifactKey> artifacts) {
+	}
+
+	/**
+	 * the last resolution of each location of the target, the locations are weakly
+	 * referenced so the resolutions of discarded locations are not stored anymore
+	 */
+	private final Map<MavenTargetLocation, Resolution> resolutions = new WeakHashMap<>();
+
+	private boolean restored;
+
+	private CacheManager(String targetId) {
+		this.targetId = targetId;
+	}
+
 	private static final Set<OpenOption> LOCK_FILE_OPEN_OPTIONS = Set.of(StandardOpenOption.CREATE,
 			StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
 
@@ -90,14 +150,112 @@ class CacheManager {
 	 *                   system-resources locks or any exception thrown by the
 	 *                   consumer itself
 	 */
-	public synchronized <R> R accessArtifactFile(Artifact artifact, CacheConsumer<R> consumer) throws Exception {
-		Path gav = Path.of(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion());
-		Path gavFolder = Files.createDirectories(folder.resolve(gav));
-		Path file = gavFolder.resolve(artifact.getFile().getName());
-		Path lockFile = gavFolder.resolve(artifact.getFile().getName() + ".lock");
-		try (FileChannel channel = FileChannel.open(lockFile, LOCK_FILE_OPEN_OPTIONS); FileLock lock = channel.lock()) {
-			return consumer.consume(file.toFile());
+	public <R> R accessArtifactFile(Artifact artifact, CacheConsumer<R> consumer) throws Exception {
+		return accessArtifactFile(artifact, "", consumer);
+	}
+
+	/**
+	 * Like {@link #accessArtifactFile(Artifact, CacheConsumer)} but for data that
+	 * does not only depend on the content of the artifact.
+	 *
+	 * @param variant the other inputs of the data stored for the artifact, e.g.
+	 *                the name and version of the bundle a source bundle is
+	 *                generated for
+	 */
+	public <R> R accessArtifactFile(Artifact artifact, String variant, CacheConsumer<R> consumer) throws Exception {
+		File artifactFile = artifact.getFile();
+		String entryKey = DigestUtils.sha1Hex(getArtifactKey(artifact) + "#" + variant);
+		Path entry = getStoreDir().resolve(entryKey);
+		// pinned before the lock is taken, so the entry is either not evicted or
+		// created again
+		PINNED_ENTRIES.add(entry);
+		Lock entryLock = getEntryLock(entryKey);
+		entryLock.lock();
+		try {
+			Path entryFolder = Files.createDirectories(entry);
+			// the modification time of an entry is its last access
+			Files.setLastModifiedTime(entryFolder, FileTime.fromMillis(System.currentTimeMillis()));
+			Path file = entryFolder.resolve(artifactFile.getName());
+			Path lockFile = entryFolder.resolve(artifactFile.getName() + ".lock");
+			try (FileChannel channel = FileChannel.open(lockFile, LOCK_FILE_OPEN_OPTIONS);
+					FileLock lock = channel.lock()) {
+				return consumer.consume(file.toFile());
+			}
+		} finally {
+			entryLock.unlock();
+		}
+	}
+
+	private static Lock getEntryLock(String entryKey) {
+		return ENTRY_LOCKS[Math.floorMod(entryKey.hashCode(), ENTRY_LOCKS.length)];
+	}
+
+	/**
+	 * @return a key that changes whenever the file of the given artifact changes,
+	 *         without reading its content
+	 */
+	private static String getArtifactKey(Artifact artifact) throws IOException {
+		Path file = artifact.getFile().toPath();
+		String coordinates = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion()
+				+ ":" + artifact.getClassifier() + ":" + artifact.getExtension();
+		if (!Files.isRegularFile(file)) {
+			// e.g. the output folder of a workspace project
+			return coordinates + "#" + file.toAbsolutePath();
 		}
+		BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		return coordinates + "#" + attributes.size() + "#" + attributes.lastModifiedTime().toMillis();
+	}
+
+	/**
+	 * Makes the resolution of the target stored in a previous session available to
+	 * the {@link ResolutionCache}, only done once per session.
+	 */
+	synchronized void restoreResolution() {
+		if (restored) {
+			return;
+		}
+		restored = true;
+		Path file = getResolutionFile();
+		if (Files.isRegularFile(file)) {
+			try {
+				ResolutionCache.read(file, this);
+			} catch (IOException | RuntimeException e) { // the target is resolved then
+				Platform.getLog(CacheManager.class).log(Status.warning("Failed to read Maven target resolution", e));
+			}
+		}
+	}
+
+	/**
+	 * Stores the resolution of the roots and artifacts of the target, so the next
+	 * session does not need to resolve them again if they did not change. Only the
+	 * keys of the given resolution of the location and of the last resolutions of
+	 * the other locations of the target are stored.
+	 */
+	synchronized void storeResolution(MavenTargetLocation location, TargetBundles bundles) {
+		// a location equal to the given one is replaced, so the entry is bound to the
+		// instance that is still in use
+		resolutions.remove(location);
+		resolutions.put(location, new Resolution(Set.copyOf(bundles.resolvedRoots),
+				Set.copyOf(bundles.resolvedArtifacts)));
+		Set<RootKey> roots = new LinkedHashSet<>();
+		Set<ArtifactKey> artifacts = new LinkedHashSet<>();
+		for (Resolution resolution : resolutions.values()) {
+			roots.addAll(resolution.roots());
+			artifacts.addAll(resolution.artifacts());
+		}
+		Path file = getResolutionFile();
+		try {
+			Files.createDirectories(file.getParent());
+			Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			ResolutionCache.write(tmp, roots, artifacts);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) { // ignore exceptions
+			Platform.getLog(CacheManager.class).log(Status.warning("Failed to store Maven target resolution", e));
+		}
+	}
+
+	private Path getResolutionFile() {
+		return getBaseDir().resolve(RESOLUTIONS_FOLDER).resolve(targetId);
 	}
 
 	/**
@@ -113,26 +271,63 @@ class CacheManager {
 	 */
 	public static synchronized CacheManager forTargetHandle(ITargetHandle handle) throws CoreException {
 		String targetId = DigestUtils.sha1Hex(handle.getMemento());
-		return MANAGERS.computeIfAbsent(targetId, CacheManager::new);
+		return MANAGERS.computeIfAbsent(targetId, key -> {
+			// a target that was not used yet in this session might add a lot of entries
+			EVICTION_JOB.schedule();
+			return new CacheManager(key);
+		});
 	}
 
 	/**
-	 * Clears all inactive cache locations that are older than the given time
-	 *
-	 * @param timeout the duration since the last use after which a CacheManager is
-	 *                deleted
+	 * Deletes the least recently used entries of the store, that were not used in
+	 * this session, until the store is not larger than the given size.
 	 */
-	private static synchronized void clearFilesOlderThan(Path cacheBaseDir, Duration timeout) {
-		FileTime deleteBefore = FileTime.from(Instant.now().minus(timeout));
-		try (DirectoryStream<Path> folders = Files.newDirectoryStream(cacheBaseDir)) {
+	private static void evictEntries(Path storeDir, long maxSize, IProgressMonitor monitor) {
+		record Entry(Path folder, long lastAccess, long size) {
+		}
+		if (!Files.isDirectory(storeDir)) {
+			return;
+		}
+		List<Entry> entries = new ArrayList<>();
+		long totalSize = 0;
+		try (DirectoryStream<Path> folders = Files.newDirectoryStream(storeDir)) {
 			for (Path folder : folders) {
-				// Delete cache-folders last used before the specified timeout
-				// and not used in any manager
-				if (!MANAGERS.containsKey(folder.getFileName().toString())) {
-					Path marker = folder.resolve(LASTACCESS_MARKER);
-					if (Files.isRegularFile(marker) && Files.getLastModifiedTime(marker).compareTo(deleteBefore) < 0) {
-						Files.walkFileTree(folder, DeletingPathVisitor.withLongCounters());
+				long size = FileUtils.sizeOfDirectory(folder.toFile());
+				entries.add(new Entry(folder, Files.getLastModifiedTime(folder).toMillis(), size));
+				totalSize += size;
+			}
+			entries.sort(Comparator.comparingLong(Entry::lastAccess));
+			for (Entry entry : entries) {
+				if (totalSize <= maxSize || monitor.isCanceled()) {
+					break;
+				}
+				// only the entries sharing the lock wait for the deletion
+				Lock entryLock = getEntryLock(entry.folder().getFileName().toString());
+				entryLock.lock();
+				try {
+					if (!PINNED_ENTRIES.contains(entry.folder())) {
+						Files.walkFileTree(entry.folder(), DeletingPathVisitor.withLongCounters());
+						totalSize -= entry.size();
 					}
+				} finally {
+					entryLock.unlock();
+				}
+			}
+		} catch (IOException | RuntimeException e) { // ignore exceptions
+			Platform.getLog(CacheManager.class).log(Status.error("Failed to clear Maven bundle cache", e));
+		}
+	}
+
+	/**
+	 * Deletes the storage areas of the targets that were used by previous
+	 * versions, the store and the stored resolutions replace them.
+	 */
+	private static void clearTargetFolders(Path cacheBaseDir) {
+		try (DirectoryStream<Path> folders = Files.newDirectoryStream(cacheBaseDir)) {
+			for (Path folder : folders) {
+				String name = folder.getFileName().toString();
+				if (Files.isDirectory(folder) && !STORE_FOLDER.equals(name) && !RESOLUTIONS_FOLDER.equals(name)) {
+					Files.walkFileTree(folder, DeletingPathVisitor.withLongCounters());
 				}
 			}
 		} catch (IOException e) { // ignore exceptions
@@ -140,20 +335,19 @@ class CacheManager {
 		}
 	}
 
-	private static synchronized Path getCacheBaseDir() {
+	private static Path getStoreDir() {
+		return getBaseDir().resolve(STORE_FOLDER);
+	}
+
+	private static synchronized Path getBaseDir() {
 		if (baseDir == null) {
 			Bundle bundle = FrameworkUtil.getBundle(CacheManager.class);
 			if (bundle == null) {
 				throw new IllegalStateException(CacheManager.class.getSimpleName() + " not loaded from a bundle");
 			}
 			baseDir = bundle.getDataFile("").toPath();
-			// clear all locations older than 14 days, this can be improved by
-			// 1) watch for changes in the workspace -> if target is deleted/removed from
-			// workspace we can clear the cache
-			// 2) we can add a preference page where the user can force clearing the cache
-			// or set the cache days
-			Runnable cleaner = () -> clearFilesOlderThan(baseDir, Duration.ofDays(14));
-			new Thread(cleaner, "Wrapped bundles cache cleaner").start();
+			Path cacheBaseDir = baseDir;
+			new Thread(() -> clearTargetFolders(cacheBaseDir), "Wrapped bundles cache cleaner").start();
 		}
 		return baseDir;
 	}
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.pde.target;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+/**
+ * Copies a jar with a different manifest on the level of the zip format, the
+ * compressed data of the other entries is copied as is, without inflating and
+ * deflating it again.
+ * <p>
+ * Only the common subset of the format is supported, jars that use ZIP64
+ * extensions, encryption or span several disks are rejected with a
+ * {@link ZipException}.
+ */
+final class JarManifestRewriter {
+
+	private static final int LOCAL_HEADER = 0x04034b50;
+	private static final int CENTRAL_HEADER = 0x02014b50;
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+	private static final int FLAG_ENCRYPTED = 0x01;
+	private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+	private static final int FLAG_UTF8 = 0x800;
+	private static final int METHOD_STORED = 0;
+	private static final int VERSION = 20;
+
+	/**
+	 * an entry of the central directory, <code>extra</code> and
+	 * <code>comment</code> are kept as they are
+	 */
+	private record Entry(int versionMadeBy, int versionNeeded, int flags, int method, int time, int date, int crc,
+			long compressedSize, long size, byte[] name, byte[] extra, byte[] comment, int internalAttributes,
+			int externalAttributes, long offset) {
+
+		Entry withOffset(long newOffset) {
+			return new Entry(versionMadeBy, versionNeeded, flags & ~FLAG_DATA_DESCRIPTOR, method, time, date, crc,
+					compressedSize, size, name, extra, comment, internalAttributes, externalAttributes, newOffset);
+		}
+	}
+
+	private JarManifestRewriter() {
+	}
+
+	/**
+	 * Writes the entries of the given source jar to the target, with the given
+	 * manifest instead of the one of the source.
+	 *
+	 * @throws ZipException if the source uses a part of the format that is not
+	 *                      supported, the content of the target is undefined then
+	 */
+	static void rewrite(File source, Manifest manifest, File target) throws IOException {
+		try (FileChannel input = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+			List<Entry> entries = readCentralDirectory(input);
+			try (FileChannel output = FileChannel.open(target.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				List<Entry> written = new ArrayList<>(entries.size() + 1);
+				written.add(writeManifest(output, manifest));
+				for (Entry entry : entries) {
+					if (!JarFile.MANIFEST_NAME.equals(new String(entry.name(), StandardCharsets.UTF_8))) {
+						written.add(copyEntry(input, output, entry));
+					}
+				}
+				writeCentralDirectory(output, written);
+			}
+		}
+	}
+
+	private static List<Entry> readCentralDirectory(FileChannel input) throws IOException {
+		long fileSize = input.size();
+		int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+		ByteBuffer tail = read(input, fileSize - tailSize, tailSize);
+		int end = -1;
+		for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+			if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+				end = i;
+				break;
+			}
+		}
+		if (end < 0) {
+			throw new ZipException("End of central directory not found");
+		}
+		int disk = Short.toUnsignedInt(tail.getShort(end + 4));
+		int count = Short.toUnsignedInt(tail.getShort(end + 10));
+		long directorySize = Integer.toUnsignedLong(tail.getInt(end + 12));
+		long directoryOffset = Integer.toUnsignedLong(tail.getInt(end + 16));
+		if (disk != 0 || count == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+			throw new ZipException("Multi-disk and ZIP64 archives are not supported");
+		}
+		ByteBuffer directory = read(input, directoryOffset, (int) directorySize);
+		List<Entry> entries = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			if (directory.remaining() < CENTRAL_HEADER_SIZE || directory.getInt() != CENTRAL_HEADER) {
+				throw new ZipException("Invalid central directory");
+			}
+			int versionMadeBy = Short.toUnsignedInt(directory.getShort());
+			int versionNeeded = Short.toUnsignedInt(directory.getShort());
+			int flags = Short.toUnsignedInt(directory.getShort());
+			int method = Short.toUnsignedInt(directory.getShort());
+			int time = Short.toUnsignedInt(directory.getShort());
+			int date = Short.toUnsignedInt(directory.getShort());
+			int crc = directory.getInt();
+			long compressedSize = Integer.toUnsignedLong(directory.getInt());
+			long size = Integer.toUnsignedLong(directory.getInt());
+			int nameLength = Short.toUnsignedInt(directory.getShort());
+			int extraLength = Short.toUnsignedInt(directory.getShort());
+			int commentLength = Short.toUnsignedInt(directory.getShort());
+			directory.getShort(); // disk number start
+			int internalAttributes = Short.toUnsignedInt(directory.getShort());
+			int externalAttributes = directory.getInt();
+			long offset = Integer.toUnsignedLong(directory.getInt());
+			if ((flags & FLAG_ENCRYPTED) != 0) {
+				throw new ZipException("Encrypted entries are not supported");
+			}
+			if (compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) {
+				throw new ZipException("ZIP64 entries are not supported");
+			}
+			entries.add(new Entry(versionMadeBy, versionNeeded, flags, method, time, date, crc, compressedSize, size,
+					bytes(directory, nameLength), bytes(directory, extraLength), bytes(directory, commentLength),
+					internalAttributes, externalAttributes, offset));
+		}
+		return entries;
+	}
+
+	private static Entry writeManifest(FileChannel output, Manifest manifest) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		manifest.write(content);
+		byte[] data = content.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		// the time and date of 1980-01-01 00:00, the earliest that can be represented
+		Entry entry = new Entry(VERSION, VERSION, FLAG_UTF8, METHOD_STORED, 0, 0x21, (int) crc.getValue(),
+				data.length, data.length, JarFile.MANIFEST_NAME.getBytes(StandardCharsets.UTF_8), new byte[0],
+				new byte[0], 0, 0, output.position());
+		writeLocalHeader(output, entry, new byte[0]);
+		writeFully(output, ByteBuffer.wrap(data));
+		return entry;
+	}
+
+	private static Entry copyEntry(FileChannel input, FileChannel output, Entry entry) throws IOException {
+		ByteBuffer header = read(input, entry.offset(), LOCAL_HEADER_SIZE);
+		if (header.getInt(0) != LOCAL_HEADER) {
+			throw new ZipException("Invalid local header");
+		}
+		int nameLength = Short.toUnsignedInt(header.getShort(26));
+		int extraLength = Short.toUnsignedInt(header.getShort(28));
+		byte[] localExtra = bytes(read(input, entry.offset() + LOCAL_HEADER_SIZE + nameLength, extraLength),
+				extraLength);
+		long dataOffset = entry.offset() + LOCAL_HEADER_SIZE + nameLength + extraLength;
+		// the sizes and checksum are taken from the central directory, so a data
+		// descriptor is not needed anymore
+		Entry copy = entry.withOffset(output.position());
+		writeLocalHeader(output, copy, localExtra);
+		for (long transferred = 0; transferred < entry.compressedSize();) {
+			long count = input.transferTo(dataOffset + transferred, entry.compressedSize() - transferred, output);
+			if (count <= 0) {
+				throw new ZipException("Unexpected end of entry data");
+			}
+			transferred += count;
+		}
+		return copy;
+	}
+
+	private static void writeLocalHeader(FileChannel output, Entry entry, byte[] extra) throws IOException {
+		ByteBuffer header = buffer(LOCAL_HEADER_SIZE + entry.name().length + extra.length);
+		header.putInt(LOCAL_HEADER);
+		header.putShort((short) entry.versionNeeded());
+		header.putShort((short) entry.flags());
+		header.putShort((short) entry.method());
+		header.putShort((short) entry.time());
+		header.putShort((short) entry.date());
+		header.putInt(entry.crc());
+		header.putInt((int) entry.compressedSize());
+		header.putInt((int) entry.size());
+		header.putShort((short) entry.name().length);
+		header.putShort((short) extra.length);
+		header.put(entry.name());
+		header.put(extra);
+		writeFully(output, header.flip());
+	}
+
+	private static void writeCentralDirectory(FileChannel output, List<Entry> entries) throws IOException {
+		if (entries.size() >= 0xFFFF) {
+			throw new ZipException("Too many entries");
+		}
+		long directoryOffset = output.position();
+		for (Entry entry : entries) {
+			ByteBuffer header = buffer(
+					CENTRAL_HEADER_SIZE + entry.name().length + entry.extra().length + entry.comment().length);
+			header.putInt(CENTRAL_HEADER);
+			header.putShort((short) entry.versionMadeBy());
+			header.putShort((short) entry.versionNeeded());
+			header.putShort((short) entry.flags());
+			header.putShort((short) entry.method());
+			header.putShort((short) entry.time());
+			header.putShort((short) entry.date());
+			header.putInt(entry.crc());
+			header.putInt((int) entry.compressedSize());
+			header.putInt((int) entry.size());
+			header.putShort((short) entry.name().length);
+			header.putShort((short) entry.extra().length);
+			header.putShort((short) entry.comment().length);
+			header.putShort((short) 0); // disk number start
+			header.putShort((short) entry.internalAttributes());
+			header.putInt(entry.externalAttributes());
+			header.putInt((int) entry.offset());
+			header.put(entry.name());
+			header.put(entry.extra());
+			header.put(entry.comment());
+			writeFully(output, header.flip());
+		}
+		long directoryEnd = output.position();
+		if (directoryEnd >= 0xFFFFFFFFL) {
+			throw new ZipException("Archive too large");
+		}
+		ByteBuffer end = buffer(END_OF_CENTRAL_DIRECTORY_SIZE);
+		end.putInt(END_OF_CENTRAL_DIRECTORY);
+		end.putShort((short) 0); // number of this disk
+		end.putShort((short) 0); // disk where the central directory starts
+		end.putShort((short) entries.size());
+		end.putShort((short) entries.size());
+		end.putInt((int) (directoryEnd - directoryOffset));
+		end.putInt((int) directoryOffset);
+		end.putShort((short) 0); // comment length
+		writeFully(output, end.flip());
+	}
+
+	private static ByteBuffer read(FileChannel input, long position, int size) throws IOException {
+		ByteBuffer buffer = buffer(size);
+		while (buffer.hasRemaining()) {
+			if (input.read(buffer, position + buffer.position()) < 0) {
+				throw new ZipException("Unexpected end of archive");
+			}
+		}
+		return buffer.flip();
+	}
+
+	private static void writeFully(FileChannel output, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			output.write(buffer);
+		}
+	}
+
+	private static ByteBuffer buffer(int size) {
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static byte[] bytes(ByteBuffer buffer, int length) {
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return bytes;
+	}
+}
@@ -33,6 +33,8 @@ import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.internal.IMavenToolbox;
@@ -49,6 +51,8 @@ import org.eclipse.pde.internal.core.ifeature.IFeaturePlugin;
 @SuppressWarnings("restriction")
 class MavenPomFeatureModel extends AbstractFeatureModel {
 
+	private static final ILog LOGGER = Platform.getLog(MavenPomFeatureModel.class);
+
 	private static final boolean DEBUG_FEATURE_XML = false;
 
 	private static final long serialVersionUID = 1L;
@@ -70,7 +74,12 @@ class MavenPomFeatureModel extends AbstractFeatureModel {
 	}
 
 	@Override
-	public void load() throws CoreException {
+	public synchronized void load() throws CoreException {
+		if (isLoaded()) {
+			// the feature might already be loaded by getFeature(), loading it again
+			// would add its plugins twice
+			return;
+		}
 		editable = true;
 		try (FileInputStream stream = new FileInputStream(artifact.getFile())) {
 			Model model = IMavenToolbox.of(MavenPlugin.getMaven()).readModel(stream);
@@ -101,12 +110,12 @@ class MavenPomFeatureModel extends AbstractFeatureModel {
 						.collect(Collectors.joining("--------------------------------------------------" + newLine));
 			}
 			Optional<DependencyNode> dependencyNode = targetBundles.getDependencyNode(artifact);
-			List<TargetBundle> dependencies = dependencyNode.map(node -> {
+			Iterable<TargetBundle> dependencies = dependencyNode.map(node -> {
 				PreorderNodeListGenerator nlg = new PreorderNodeListGenerator();
 				node.accept(nlg);
 				return nlg.getArtifacts(true);
 			}).stream().flatMap(Collection::stream).filter(a -> a.getFile() != null)
-					.flatMap(a -> targetBundles.getTargetBundle(a, isSourceFeature).stream()).toList();
+					.flatMap(a -> targetBundles.getTargetBundle(a, isSourceFeature).stream())::iterator;
 			List<IFeaturePlugin> featurePlugins = new ArrayList<>();
 			for (TargetBundle bundle : dependencies) {
 				FeaturePlugin plugin = new MavenFeaturePlugin(bundle, this);
@@ -124,7 +133,7 @@ class MavenPomFeatureModel extends AbstractFeatureModel {
 				}
 			}
 		} catch (IOException e) {
-			throw new CoreException(Status.error("failed to load pom file"));
+			throw new CoreException(Status.error("failed to load pom file " + artifact.getFile(), e));
 		} finally {
 			editable = false;
 		}
@@ -158,10 +167,22 @@ class MavenPomFeatureModel extends AbstractFeatureModel {
 		return null;
 	}
 
+	/**
+	 * The model is loaded when its feature is accessed first, so the features of
+	 * a target only occupy memory once they are used.
+	 */
 	@Override
-	public IFeature getFeature() {
+	public synchronized IFeature getFeature() {
 		if (feature == null) {
 			this.feature = new MavenPomFeature(this);
+			if (!isLoaded() && !editable) {
+				try {
+					load();
+				} catch (CoreException e) {
+					LOGGER.log(e.getStatus());
+					targetBundles.addFeatureError(artifact, e.getStatus());
+				}
+			}
 		}
 		return feature;
 	}
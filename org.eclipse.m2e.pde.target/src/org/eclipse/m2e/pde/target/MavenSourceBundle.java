@@ -16,7 +16,14 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.URI;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.Attributes;
 import java.util.jar.Attributes.Name;
 import java.util.jar.JarEntry;
@@ -25,37 +32,161 @@ import java.util.jar.JarInputStream;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.equinox.frameworkadmin.BundleInfo;
 import org.eclipse.pde.core.target.TargetBundle;
 import org.osgi.framework.Constants;
 
 public class MavenSourceBundle extends TargetBundle {
 
+	private static final ILog LOGGER = Platform.getLog(MavenSourceBundle.class);
+
 	@SuppressWarnings("restriction")
 	public static final String ECLIPSE_SOURCE_BUNDLE_HEADER = org.eclipse.pde.internal.core.ICoreConstants.ECLIPSE_SOURCE_BUNDLE;
 
-	public MavenSourceBundle(BundleInfo sourceTarget, Artifact artifact, CacheManager cacheManager) throws Exception {
+	/**
+	 * if the source bundles of a location are generated in the background once it
+	 * is resolved, instead of when they are used first
+	 */
+	static final boolean PREFETCH = Boolean.getBoolean("m2e.pde.target.source.prefetch");
+
+	/**
+	 * generates the prefetched source bundles, bounded to the number of processors
+	 * as the threads read and write jars and wait for the locks of the cache
+	 */
+	private static final Executor PREFETCH_EXECUTOR = createPrefetchExecutor();
+
+	private final Artifact artifact;
+
+	private final CacheManager cacheManager;
+
+	/**
+	 * the error generating the source bundle, <code>null</code> if it was not
+	 * generated yet or its generation succeeded
+	 */
+	private volatile IStatus status;
+
+	/**
+	 * @throws IOException if the sources jar can not be read, then it can not be
+	 *                     used as a source bundle
+	 */
+	public MavenSourceBundle(BundleInfo sourceTarget, Artifact artifact, CacheManager cacheManager)
+			throws IOException {
 		this.fSourceTarget = sourceTarget;
+		this.artifact = artifact;
+		this.cacheManager = cacheManager;
+		SourceBundleInfo info = new SourceBundleInfo();
+		fInfo = info;
 		fInfo.setSymbolicName(sourceTarget.getSymbolicName() + ".source");
 		fInfo.setVersion(sourceTarget.getVersion());
-		Manifest manifest;
-		File sourceFile = artifact.getFile();
-		try (JarFile jar = new JarFile(sourceFile)) {
-			manifest = Objects.requireNonNullElseGet(jar.getManifest(), Manifest::new);
+		if (isValidSourceManifest(readManifest(artifact.getFile()))) {
+			// nothing to generate
+			info.setLocation(artifact.getFile().toURI());
+			info.located = true;
 		}
-		if (isValidSourceManifest(manifest)) {
-			fInfo.setLocation(sourceFile.toURI());
-		} else {
-			File generatedSourceBundle = cacheManager.accessArtifactFile(artifact, file -> {
+	}
+
+	private static Executor createPrefetchExecutor() {
+		int threads = Runtime.getRuntime().availableProcessors();
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "MavenSourceBundle-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		// the threads are only kept while source bundles are generated
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Generates the source bundle in the background, if it is not generated yet.
+	 */
+	void prefetch() {
+		CompletableFuture.runAsync(fInfo::getLocation, PREFETCH_EXECUTOR);
+	}
+
+	/**
+	 * @return the location of the generated source bundle or <code>null</code> if
+	 *         it could not be generated, then the source bundle is not available
+	 *         like a source bundle whose sources jar could not be read while the
+	 *         location was resolved and {@link #getStatus()} reports the error
+	 */
+	private URI getSourceBundleLocation() {
+		File sourceFile = artifact.getFile();
+		try {
+			Manifest manifest = readManifest(sourceFile);
+			// the generated manifest refers to the bundle the sources are for
+			String variant = fSourceTarget.getSymbolicName() + ":" + fSourceTarget.getVersion();
+			File generatedSourceBundle = cacheManager.accessArtifactFile(artifact, variant, file -> {
 				if (CacheManager.isOutdated(file, sourceFile)) {
-					addSourceBundleMetadata(manifest, sourceTarget);
+					addSourceBundleMetadata(manifest, fSourceTarget);
 					transferJarEntries(sourceFile, manifest, file);
 				}
 				return file;
 			});
-			fInfo.setLocation(generatedSourceBundle.toURI());
+			return generatedSourceBundle.toURI();
+		} catch (Exception e) {
+			status = Status.error("Generating the source bundle for " + artifact + " failed", e);
+			LOGGER.log(status);
+			return null;
+		}
+	}
+
+	@Override
+	public IStatus getStatus() {
+		// the source bundle is not generated to determine its status
+		IStatus generationStatus = status;
+		return generationStatus != null ? generationStatus : super.getStatus();
+	}
+
+	private static Manifest readManifest(File sourceFile) throws IOException {
+		try (JarFile jar = new JarFile(sourceFile)) {
+			return Objects.requireNonNullElseGet(jar.getManifest(), Manifest::new);
+		}
+	}
+
+	/**
+	 * Determines the location of the source bundle when it is requested first, so
+	 * the source bundle is only generated if it is used, e.g. when PDE reads its
+	 * manifest or the debugger looks up sources
+	 */
+	private final class SourceBundleInfo extends BundleInfo {
+
+		private boolean located;
+
+		@Override
+		public synchronized URI getLocation() {
+			if (!located) {
+				setLocation(getSourceBundleLocation());
+				located = true;
+			}
+			return super.getLocation();
+		}
+
+		private Artifact getArtifact() {
+			return artifact;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			// the location is determined by the artifact, comparing it would generate
+			// the source bundle
+			return obj instanceof SourceBundleInfo other && Objects.equals(getSymbolicName(), other.getSymbolicName())
+					&& Objects.equals(getVersion(), other.getVersion())
+					&& Objects.equals(getArtifact(), other.getArtifact());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(getSymbolicName(), getVersion(), getArtifact());
 		}
 	}
 
@@ -73,7 +204,19 @@ public class MavenSourceBundle extends TargetBundle {
 		attr.putValue(Constants.BUNDLE_VERSION, fInfo.getVersion());
 	}
 
-	private void transferJarEntries(File source, Manifest manifest, File target) throws IOException {
+	/**
+	 * Writes the entries of the given source jar to the target, with the given
+	 * manifest instead of the one of the source.
+	 */
+	static void transferJarEntries(File source, Manifest manifest, File target) throws IOException {
+		try {
+			// only the manifest is new, all other entries are copied without compressing
+			// them again
+			JarManifestRewriter.rewrite(source, manifest, target);
+			return;
+		} catch (ZipException e) {
+			// not supported for this jar, e.g. ZIP64 archives
+		}
 		try (var output = new JarOutputStream(new FileOutputStream(target), manifest);
 				var input = new JarInputStream(new FileInputStream(source));) {
 			for (JarEntry entry; (entry = input.getNextJarEntry()) != null;) {
@@ -117,6 +117,19 @@ public class MavenTargetBundle extends TargetBundle {
 		}
 	}
 
+	/**
+	 * Creates the bundle of an artifact from the bundle file that was created for
+	 * it before, e.g. in a previous session
+	 */
+	MavenTargetBundle(Artifact artifact, File bundleFile, boolean isWrapped) throws CoreException {
+		this.artifact = artifact;
+		File file = artifact.getFile();
+		this.bundleInfo = new BundleInfo(artifact.getGroupId() + "." + artifact.getArtifactId(), artifact.getVersion(),
+				file != null ? file.toURI() : null, -1, false);
+		this.bundle = new TargetBundle(bundleFile);
+		this.isWrapped = isWrapped;
+	}
+
 	public Artifact getArtifact() {
 		return artifact;
 	}
@@ -30,12 +30,22 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.output.StringBuilderWriter;
@@ -57,7 +67,9 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -69,7 +81,10 @@ import org.eclipse.m2e.core.embedder.IMavenExecutionContext;
 import org.eclipse.m2e.core.internal.MavenPluginActivator;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
-import org.eclipse.pde.core.IModel;
+import org.eclipse.m2e.pde.target.ResolutionCache.ArtifactBundles;
+import org.eclipse.m2e.pde.target.ResolutionCache.ArtifactKey;
+import org.eclipse.m2e.pde.target.ResolutionCache.RootGraph;
+import org.eclipse.m2e.pde.target.ResolutionCache.RootKey;
 import org.eclipse.pde.core.target.ITargetDefinition;
 import org.eclipse.pde.core.target.TargetBundle;
 import org.eclipse.pde.core.target.TargetFeature;
@@ -115,13 +130,18 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 	public static final String DEPENDENCYNODE_PARENT = "dependencynode.parent";
 	public static final String DEPENDENCYNODE_ROOT = "dependencynode.root";
 	public static final DependencyDepth DEFAULT_INCLUDE_MODE = DependencyDepth.NONE;
+	/**
+	 * maximum number of roots of a location that are resolved concurrently
+	 */
+	private static final int RESOLVE_THREADS = Integer.getInteger("m2e.pde.target.threads",
+			Runtime.getRuntime().availableProcessors());
 
 	private final Collection<String> dependencyScopes;
 	private final MissingMetadataMode metadataMode;
 	private TargetBundles targetBundles;
 
 	private final Set<String> excludedArtifacts = new HashSet<>();
-	private final Set<Artifact> failedArtifacts = new HashSet<>();
+	private final Set<Artifact> failedArtifacts = ConcurrentHashMap.newKeySet();
 	private final Map<String, BNDInstructions> instructionsMap = new LinkedHashMap<>();
 	private final boolean includeSource;
 	private final List<MavenTargetDependency> roots;
@@ -162,40 +182,131 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 			IProgressMonitor monitor) throws CoreException {
 		if (targetBundles == null && definition != null) {
 			CacheManager cacheManager = CacheManager.forTargetHandle(definition.getHandle());
+			cacheManager.restoreResolution();
 			TargetBundles bundles = new TargetBundles();
 			IMaven maven = MavenPlugin.getMaven();
 			List<ArtifactRepository> repositories = getAvailableArtifactRepositories(maven);
 			SubMonitor subMonitor = SubMonitor.convert(monitor, roots.size() * 100);
-			for (MavenTargetDependency root : roots) {
-				resolveDependency(root, maven, repositories, bundles, cacheManager, subMonitor.split(100));
-			}
+			resolveRoots(maven, repositories, bundles, cacheManager, subMonitor);
 			if (featureTemplate != null) {
 				generateFeature(bundles, false);
 				if (includeSource) {
 					generateFeature(bundles, true);
 				}
 			}
-			Iterable<IModel> models = bundles.features.stream().map(TargetFeature::getFeatureModel)::iterator;
-			for (IModel model : models) {
-				model.load();
-			}
 			if (subMonitor.isCanceled()) {
 				return Optional.empty();
 			}
 			targetBundles = bundles;
+			cacheManager.storeResolution(this, bundles);
+			if (MavenSourceBundle.PREFETCH) {
+				bundles.prefetchSourceBundles();
+			}
 		}
 		return Optional.ofNullable(targetBundles);
 	}
 
+	/**
+	 * Resolves the roots on up to {@link #RESOLVE_THREADS} threads, the calling
+	 * thread only reports the progress. The first failure cancels the roots that
+	 * are not resolved yet. In any case this only returns once all workers are
+	 * done, so none of them adds bundles after the resolution was given up.
+	 */
+	private void resolveRoots(IMaven maven, List<ArtifactRepository> repositories, TargetBundles bundles,
+			CacheManager cacheManager, SubMonitor monitor) throws CoreException {
+		int threads = Math.min(RESOLVE_THREADS, roots.size());
+		if (threads <= 1) {
+			for (MavenTargetDependency root : roots) {
+				resolveDependency(root, maven, repositories, bundles, cacheManager, monitor.split(100));
+			}
+			return;
+		}
+		// progress monitors are not thread safe, the workers only see if the
+		// resolution was canceled
+		IProgressMonitor workerMonitor = new NullProgressMonitor();
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "MavenTargetLocation-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			CompletionService<MavenTargetDependency> completion = new ExecutorCompletionService<>(executor);
+			for (MavenTargetDependency root : roots) {
+				completion.submit(() -> {
+					if (!workerMonitor.isCanceled()) {
+						resolveDependency(root, maven, repositories, bundles, cacheManager, workerMonitor);
+					}
+					return root;
+				});
+			}
+			for (int remaining = roots.size(); remaining > 0;) {
+				if (monitor.isCanceled()) {
+					workerMonitor.setCanceled(true);
+					return;
+				}
+				Future<MavenTargetDependency> resolved = completion.poll(100, TimeUnit.MILLISECONDS);
+				if (resolved != null) {
+					remaining--;
+					monitor.subTask(resolved.get().getKey());
+					monitor.worked(100);
+				}
+			}
+		} catch (ExecutionException e) {
+			workerMonitor.setCanceled(true);
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException coreException) {
+				throw coreException;
+			} else if (cause instanceof OperationCanceledException canceled) {
+				throw canceled;
+			}
+			throw new CoreException(Status.error("Internal error", cause));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			workerMonitor.setCanceled(true);
+			monitor.setCanceled(true);
+		} finally {
+			// the remaining tasks return at once if the resolution was canceled, the
+			// workers are not interrupted as that would close the channels they use to
+			// write to the local repository
+			executor.shutdown();
+			awaitTermination(executor);
+		}
+	}
+
+	private static void awaitTermination(ExecutorService executor) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+					break;
+				}
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	public String getLabel() {
 		return label;
 	}
 
-	private void generateFeature(TargetBundles bundles, boolean source) throws CoreException {
+	/**
+	 * Adds a feature generated from the feature template that contains the bundles
+	 * or the source bundles of the location, the feature is only generated when it
+	 * is accessed first.
+	 */
+	private void generateFeature(TargetBundles bundles, boolean source) {
+		TemplateFeatureModel featureModel = new TemplateFeatureModel(featureTemplate,
+				feature -> generateFeature(feature, bundles, source), status -> bundles.addFeatureError(null, status));
+		bundles.features.add(new MavenTargetFeature(featureModel));
+	}
+
+	private void generateFeature(IFeature feature, TargetBundles bundles, boolean source) throws CoreException {
 		Predicate<TargetBundle> bundleFilter = TargetBundle::isSourceBundle;
-		TemplateFeatureModel featureModel = new TemplateFeatureModel(featureTemplate);
-		featureModel.load();
-		IFeature feature = featureModel.getFeature();
 		if (source) {
 			feature.setId(feature.getId() + SOURCE_SUFFIX);
 			String featureLabel = feature.getLabel();
@@ -214,11 +325,11 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 				.filter(bundleFilter)//
 				.sorted(Comparator.comparing(TargetBundle::getBundleInfo,
 						Comparator.comparing(BundleInfo::getSymbolicName)))::iterator;
+		List<IFeaturePlugin> plugins = new ArrayList<>();
 		for (TargetBundle targetBundle : featurePlugins) {
-			feature.addPlugins(new IFeaturePlugin[] { new MavenFeaturePlugin(targetBundle, featureModel) });
+			plugins.add(new MavenFeaturePlugin(targetBundle, feature.getModel()));
 		}
-		featureModel.makeReadOnly();
-		bundles.features.add(new MavenTargetFeature(featureModel));
+		feature.addPlugins(plugins.toArray(IFeaturePlugin[]::new));
 	}
 
 	public List<MavenTargetRepository> getExtraRepositories() {
@@ -231,10 +342,17 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 		IMavenProjectRegistry registry = MavenPlugin.getMavenProjectRegistry();
 		IMavenProjectFacade workspaceProject = registry.getMavenProject(root.getGroupId(), root.getArtifactId(),
 				root.getVersion());
+		RootKey key = ResolutionCache.rootKey(root, dependencyDepth, getDependencyScopes(), extraRepositories);
+		targetBundles.resolvedRoots.add(key);
+		RootGraph graph = null;
 		Artifact artifact;
 		if (workspaceProject != null && workspaceProject.getPackaging().equals(root.getType())) {
 			MavenProject mavenProject = workspaceProject.getMavenProject(subMonitor.split(80));
 			artifact = new WorkspaceArtifact(RepositoryUtils.toArtifact(mavenProject.getArtifact()), workspaceProject);
+		} else if ((graph = ResolutionCache.getRootGraph(key, root, this)) != null) {
+			// the root did not change since it was resolved last, only its bundles need
+			// to be collected
+			artifact = graph.artifact();
 		} else {
 			artifact = RepositoryUtils.toArtifact(maven.resolve(root.getGroupId(), root.getArtifactId(),
 					root.getVersion(), root.getType(), root.getClassifier(), repositories, subMonitor.split(80)));
@@ -247,15 +365,24 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 			}
 			SubMonitor split = subMonitor.split(20);
 			if (depth == DependencyDepth.DIRECT || depth == DependencyDepth.INFINITE) {
-				ICallable<PreorderNodeListGenerator> callable = DependencyNodeGenerator.create(root, artifact, depth,
-						dependencyScopes, repositories, this);
-				PreorderNodeListGenerator dependecies;
-				if (workspaceProject == null) {
-					dependecies = maven.createExecutionContext().execute(callable, subMonitor);
+				List<DependencyNode> nodes;
+				List<Artifact> artifacts;
+				if (graph != null) {
+					nodes = graph.nodes();
+					artifacts = graph.artifacts();
 				} else {
-					dependecies = registry.execute(workspaceProject, callable, subMonitor);
+					ICallable<PreorderNodeListGenerator> callable = DependencyNodeGenerator.create(root, artifact,
+							depth, dependencyScopes, repositories, this);
+					PreorderNodeListGenerator dependecies;
+					if (workspaceProject == null) {
+						dependecies = maven.createExecutionContext().execute(callable, subMonitor);
+					} else {
+						dependecies = registry.execute(workspaceProject, callable, subMonitor);
+					}
+					nodes = dependecies.getNodes();
+					artifacts = dependecies.getArtifacts(true);
+					ResolutionCache.putRootGraph(key, root, artifact, nodes, artifacts);
 				}
-				List<Artifact> artifacts = dependecies.getArtifacts(true);
 				split.setWorkRemaining(artifacts.size());
 				for (Artifact a : artifacts) {
 					if (a.getFile() == null) {
@@ -264,8 +391,11 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 					}
 					addBundleForArtifact(a, cacheManager, maven, targetBundles, split.split(1));
 				}
-				targetBundles.dependencyNodes.put(root, dependecies.getNodes());
+				targetBundles.dependencyNodes.put(root, nodes);
 			} else {
+				if (graph == null) {
+					ResolutionCache.putRootGraph(key, root, artifact, List.of(), List.of(artifact));
+				}
 				addBundleForArtifact(artifact, cacheManager, maven, targetBundles, split);
 			}
 		}
@@ -334,8 +464,6 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 
 	private void addBundleForArtifact(Artifact artifact, CacheManager cacheManager, IMaven maven,
 			TargetBundles targetBundles, IProgressMonitor monitor) {
-		File featureFile = getFeatureFile(artifact, cacheManager);
-
 		if (isPomType(artifact)) {
 			targetBundles.features
 					.add(new MavenTargetFeature(new MavenPomFeatureModel(artifact, targetBundles, false)));
@@ -344,35 +472,61 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 						.add(new MavenTargetFeature(new MavenPomFeatureModel(artifact, targetBundles, true)));
 			}
 			return;
-		} else if (featureFile != null) {
+		}
+		ArtifactKey key = new ArtifactKey(artifact, getBundleSettings());
+		targetBundles.resolvedArtifacts.add(key);
+		ArtifactBundles reused = ResolutionCache.getArtifactBundles(key);
+		File featureFile = reused != null ? reused.featureFile() : getFeatureFile(artifact, cacheManager);
+		if (featureFile != null) {
 			try {
 				targetBundles.features.add(new TargetFeature(featureFile));
+				if (reused == null) {
+					ResolutionCache.putArtifactBundles(key, featureFile, null, null, null);
+				}
 			} catch (CoreException e) {
 				failedArtifacts.add(artifact);
 				LOGGER.error(e.getLocalizedMessage(), e);
 			}
 			return;
+		} else if (!targetBundles.claimArtifact(artifact)) {
+			// the dependencies of the artifact are collected and it is wrapped only once
+			// per target, even if several roots depend on it
+			return;
+		} else if (reused != null) {
+			if (reused.bundle() == null) {
+				targetBundles.ignoredArtifacts.add(artifact);
+			} else {
+				targetBundles.addBundle(artifact, reused.bundle());
+				if (reused.sourceBundle() != null) {
+					targetBundles.addBundle(reused.sourceArtifact(), reused.sourceBundle());
+					targetBundles.addSourceBundle(artifact, reused.sourceBundle());
+				}
+			}
+			return;
 		}
 		MavenTargetBundle bundle = new MavenTargetBundle(artifact, this, monitor);
 		IStatus status = bundle.getStatus();
 		if (status.isOK()) {
 			targetBundles.addBundle(artifact, bundle);
+			Artifact sourceArtifact = null;
+			MavenSourceBundle sourceBundle = null;
 			if (includeSource) {
 				try {
 					List<ArtifactRepository> repositories = getAvailableArtifactRepositories(maven);
-					Artifact sourceArtifact = RepositoryUtils.toArtifact(
+					sourceArtifact = RepositoryUtils.toArtifact(
 							maven.resolve(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion(),
 									artifact.getExtension(), "sources", repositories, new NullProgressMonitor()));
-					MavenSourceBundle sourceBundle = new MavenSourceBundle(bundle.getBundleInfo(), sourceArtifact,
-							cacheManager);
+					sourceBundle = new MavenSourceBundle(bundle.getBundleInfo(), sourceArtifact, cacheManager);
 					targetBundles.addBundle(sourceArtifact, sourceBundle);
 					targetBundles.addSourceBundle(artifact, sourceBundle);
 				} catch (Exception e) {
 					// Source not available / usable
 				}
 			}
+			ResolutionCache.putArtifactBundles(key, null, bundle, sourceArtifact, sourceBundle);
 		} else if (status.matches(IStatus.CANCEL)) {
 			targetBundles.ignoredArtifacts.add(artifact);
+			ResolutionCache.putArtifactBundles(key, null, null, null, null);
 		} else {
 			failedArtifacts.add(artifact);
 			// failed ones must be added to the target as well to fail resolution of the TP
@@ -380,6 +534,16 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 		}
 	}
 
+	/**
+	 * @return the settings of this location that affect the bundles created for
+	 *         its artifacts
+	 */
+	private String getBundleSettings() {
+		String settings = List.of(List.copyOf(instructionsMap.values()), getMetadataMode(), includeSource,
+				extraRepositories.stream().map(r -> r.getId() + "=" + r.getUrl()).toList()).toString();
+		return DigestUtils.sha1Hex(settings);
+	}
+
 	/**
 	 * Internal method that lookup the instructions in the map with a fallback to
 	 * the default specified instructions of the location.
@@ -502,6 +666,24 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 				.toArray(TargetFeature[]::new);
 	}
 
+	/**
+	 * Also reports the features that could not be loaded, they are only loaded
+	 * when they are accessed first, after the location was resolved.
+	 */
+	@Override
+	public IStatus getStatus() {
+		IStatus status = super.getStatus();
+		TargetBundles bundles = targetBundles;
+		if (status == null || bundles == null || bundles.featureErrors.isEmpty()) {
+			return status;
+		}
+		MultiStatus multiStatus = new MultiStatus(MavenTargetLocation.class, 0,
+				"Some features of the location could not be loaded");
+		multiStatus.merge(status);
+		bundles.featureErrors.forEach(multiStatus::add);
+		return multiStatus;
+	}
+
 	@Override
 	public String getType() {
 		return "Maven";
@@ -606,6 +788,10 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 		return metadataMode;
 	}
 
+	/**
+	 * Discards the resolved bundles of this location, the roots and artifacts that
+	 * did not change since are not resolved again, see {@link ResolutionCache}
+	 */
 	public void refresh() {
 		targetBundles = null;
 		clearResolutionStatus();
@@ -625,7 +811,8 @@ public class MavenTargetLocation extends AbstractBundleContainer {
 	}
 
 	public boolean isFailed(Artifact artifact) {
-		return failedArtifacts.contains(artifact);
+		TargetBundles bundles = targetBundles;
+		return failedArtifacts.contains(artifact) || (bundles != null && bundles.isFeatureFailed(artifact));
 	}
 
 	public boolean isExcluded(Artifact artifact) {
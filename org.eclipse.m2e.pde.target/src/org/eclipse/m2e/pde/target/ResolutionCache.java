@@ -0,0 +1,480 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.pde.target;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Remembers what the roots of the locations were resolved to, so that
+ * resolving a location again, e.g. after it was refreshed or the version of one
+ * of its roots was updated, only resolves the roots that changed and only
+ * creates the bundles of artifacts that were not part of a location with the
+ * same settings before.
+ * <p>
+ * Entries are only reused as long as the files of their artifacts did not
+ * change, roots from the workspace or with a snapshot version are always
+ * resolved again. The entries used by a target are written to a file, so they
+ * are available again in the next session, see
+ * {@link CacheManager#restoreResolution()}.
+ */
+final class ResolutionCache {
+
+	private static final int MAX_ROOTS = 256;
+
+	private static final int MAX_ARTIFACTS = 8192;
+
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * identifies the dependency graph of a root
+	 */
+	record RootKey(String root, DependencyDepth depth, Set<String> scopes, List<String> repositories) {
+	}
+
+	/**
+	 * the dependency graph of a root, <code>nodes</code> is empty if the
+	 * dependencies of the root are not included
+	 */
+	record RootGraph(Artifact artifact, List<DependencyNode> nodes, List<Artifact> artifacts,
+			Map<File, Long> timestamps) {
+	}
+
+	/**
+	 * identifies what was created for an artifact by the settings of a location
+	 * that affect it
+	 */
+	record ArtifactKey(Artifact artifact, String settings) {
+	}
+
+	/**
+	 * what was created for an artifact, either the <code>featureFile</code> if it
+	 * is a feature, or its <code>bundle</code> and if available its source bundle,
+	 * or neither if the artifact was ignored
+	 */
+	record ArtifactBundles(long timestamp, File featureFile, MavenTargetBundle bundle, Artifact sourceArtifact,
+			MavenSourceBundle sourceBundle) {
+	}
+
+	private static final Map<RootKey, RootGraph> ROOTS = Collections.synchronizedMap(lruMap(MAX_ROOTS));
+
+	private static final Map<ArtifactKey, ArtifactBundles> ARTIFACTS = Collections
+			.synchronizedMap(lruMap(MAX_ARTIFACTS));
+
+	private ResolutionCache() {
+	}
+
+	static RootKey rootKey(MavenTargetDependency root, DependencyDepth depth, Collection<String> scopes,
+			Collection<MavenTargetRepository> repositories) {
+		String coordinates = String.join(":", root.getGroupId(), root.getArtifactId(), root.getVersion(),
+				String.valueOf(root.getType()), String.valueOf(root.getClassifier()));
+		return new RootKey(coordinates, depth, new TreeSet<>(scopes),
+				repositories.stream().map(r -> r.getId() + "=" + r.getUrl()).toList());
+	}
+
+	/**
+	 * @return the graph the given root was resolved to before, if the files of its
+	 *         artifacts did not change since
+	 */
+	static RootGraph getRootGraph(RootKey key, MavenTargetDependency root, MavenTargetLocation location) {
+		RootGraph graph = ROOTS.get(key);
+		if (graph == null || !isUnchanged(graph.timestamps())) {
+			return null;
+		}
+		if (graph.nodes().isEmpty()) {
+			return graph;
+		}
+		// the root node references the location and dependency it belongs to and the
+		// editor stores the parent of each node it shows, so the nodes are copied
+		// instead of being shared with other locations
+		List<DependencyNode> nodes = copyNodes(graph.nodes());
+		DependencyNode rootNode = nodes.get(0);
+		rootNode.setData(MavenTargetLocation.DEPENDENCYNODE_PARENT, location);
+		rootNode.setData(MavenTargetLocation.DEPENDENCYNODE_ROOT, root);
+		return new RootGraph(graph.artifact(), nodes, graph.artifacts(), graph.timestamps());
+	}
+
+	static void putRootGraph(RootKey key, MavenTargetDependency root, Artifact artifact, List<DependencyNode> nodes,
+			List<Artifact> artifacts) {
+		if (artifact instanceof WorkspaceArtifact || artifact.isSnapshot()
+				|| !artifact.getBaseVersion().equals(root.getVersion())) {
+			// the root might resolve to a different artifact next time, e.g. if a
+			// version range is used
+			return;
+		}
+		Map<File, Long> timestamps = new LinkedHashMap<>();
+		for (Artifact a : artifacts) {
+			File file = a.getFile();
+			if (a.isSnapshot()) {
+				return;
+			} else if (file != null) {
+				if (!file.isFile()) {
+					// e.g. the output folder of a workspace project
+					return;
+				}
+				timestamps.put(file, file.lastModified());
+			}
+		}
+		// do not keep the location alive through the data of the nodes
+		ROOTS.put(key, new RootGraph(artifact, copyNodes(nodes), List.copyOf(artifacts), timestamps));
+	}
+
+	/**
+	 * @return what was created before for the given artifact with the same
+	 *         settings, if its file did not change since
+	 */
+	static ArtifactBundles getArtifactBundles(ArtifactKey key) {
+		File file = key.artifact().getFile();
+		if (file == null) {
+			return null;
+		}
+		ArtifactBundles bundles = ARTIFACTS.get(key);
+		if (bundles == null || bundles.timestamp() != file.lastModified()) {
+			return null;
+		}
+		return bundles;
+	}
+
+	static void putArtifactBundles(ArtifactKey key, File featureFile, MavenTargetBundle bundle,
+			Artifact sourceArtifact, MavenSourceBundle sourceBundle) {
+		File file = key.artifact().getFile();
+		if (file != null && file.isFile()) {
+			ARTIFACTS.put(key,
+					new ArtifactBundles(file.lastModified(), featureFile, bundle, sourceArtifact, sourceBundle));
+		}
+	}
+
+	/**
+	 * Forgets all entries, e.g. to read them again from a file.
+	 */
+	static void clear() {
+		ROOTS.clear();
+		ARTIFACTS.clear();
+	}
+
+	/**
+	 * Writes the entries of the given keys to the given file, keys without an
+	 * entry are skipped.
+	 */
+	static void write(Path file, Collection<RootKey> roots, Collection<ArtifactKey> artifacts) throws IOException {
+		Map<RootKey, RootGraph> graphs = new LinkedHashMap<>();
+		for (RootKey key : roots) {
+			RootGraph graph = ROOTS.get(key);
+			if (graph != null) {
+				graphs.put(key, graph);
+			}
+		}
+		Map<ArtifactKey, ArtifactBundles> bundles = new LinkedHashMap<>();
+		for (ArtifactKey key : artifacts) {
+			ArtifactBundles artifactBundles = ARTIFACTS.get(key);
+			if (artifactBundles != null) {
+				bundles.put(key, artifactBundles);
+			}
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(graphs.size());
+			for (Entry<RootKey, RootGraph> entry : graphs.entrySet()) {
+				writeRootKey(out, entry.getKey());
+				writeRootGraph(out, entry.getValue());
+			}
+			out.writeInt(bundles.size());
+			for (Entry<ArtifactKey, ArtifactBundles> entry : bundles.entrySet()) {
+				writeArtifact(out, entry.getKey().artifact());
+				out.writeUTF(entry.getKey().settings());
+				writeArtifactBundles(out, entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Reads the entries written to the given file, entries whose files changed
+	 * since or that are already known are skipped.
+	 *
+	 * @param cacheManager the manager the source bundles are generated with
+	 */
+	static void read(Path file, CacheManager cacheManager) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				return;
+			}
+			for (int i = in.readInt(); i > 0; i--) {
+				RootKey key = readRootKey(in);
+				RootGraph graph = readRootGraph(in);
+				if (isUnchanged(graph.timestamps())) {
+					ROOTS.putIfAbsent(key, graph);
+				}
+			}
+			for (int i = in.readInt(); i > 0; i--) {
+				Artifact artifact = readArtifact(in);
+				ArtifactKey key = new ArtifactKey(artifact, in.readUTF());
+				ArtifactBundles bundles = readArtifactBundles(in, artifact, cacheManager);
+				if (bundles != null && bundles.timestamp() == artifact.getFile().lastModified()) {
+					ARTIFACTS.putIfAbsent(key, bundles);
+				}
+			}
+		}
+	}
+
+	private static void writeRootKey(DataOutputStream out, RootKey key) throws IOException {
+		out.writeUTF(key.root());
+		out.writeUTF(key.depth().name());
+		writeStrings(out, key.scopes());
+		writeStrings(out, key.repositories());
+	}
+
+	private static RootKey readRootKey(DataInputStream in) throws IOException {
+		return new RootKey(in.readUTF(), DependencyDepth.valueOf(in.readUTF()), new TreeSet<>(readStrings(in)),
+				readStrings(in));
+	}
+
+	private static void writeRootGraph(DataOutputStream out, RootGraph graph) throws IOException {
+		writeArtifact(out, graph.artifact());
+		// the nodes are listed in preorder, so the children of a node are referenced
+		// by their index
+		List<DependencyNode> nodes = graph.nodes();
+		Map<DependencyNode, Integer> indices = new IdentityHashMap<>();
+		for (DependencyNode node : nodes) {
+			indices.put(node, indices.size());
+		}
+		out.writeInt(nodes.size());
+		for (DependencyNode node : nodes) {
+			writeArtifact(out, node.getArtifact());
+			Dependency dependency = node.getDependency();
+			out.writeBoolean(dependency != null);
+			if (dependency != null) {
+				out.writeUTF(dependency.getScope());
+				out.writeBoolean(dependency.isOptional());
+			}
+			List<DependencyNode> children = node.getChildren();
+			out.writeInt(children.size());
+			for (DependencyNode child : children) {
+				out.writeInt(indices.get(child));
+			}
+		}
+		out.writeInt(graph.artifacts().size());
+		for (Artifact artifact : graph.artifacts()) {
+			writeArtifact(out, artifact);
+		}
+		out.writeInt(graph.timestamps().size());
+		for (Entry<File, Long> entry : graph.timestamps().entrySet()) {
+			writeFile(out, entry.getKey());
+			out.writeLong(entry.getValue());
+		}
+	}
+
+	private static RootGraph readRootGraph(DataInputStream in) throws IOException {
+		Artifact artifact = readArtifact(in);
+		int size = in.readInt();
+		List<DependencyNode> nodes = new ArrayList<>(size);
+		List<int[]> children = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Artifact nodeArtifact = readArtifact(in);
+			DefaultDependencyNode node;
+			if (in.readBoolean()) {
+				node = new DefaultDependencyNode(new Dependency(nodeArtifact, in.readUTF(), in.readBoolean()));
+			} else {
+				node = new DefaultDependencyNode(nodeArtifact);
+			}
+			int[] nodeChildren = new int[in.readInt()];
+			for (int j = 0; j < nodeChildren.length; j++) {
+				nodeChildren[j] = in.readInt();
+			}
+			nodes.add(node);
+			children.add(nodeChildren);
+		}
+		for (int i = 0; i < size; i++) {
+			List<DependencyNode> nodeChildren = new ArrayList<>();
+			for (int index : children.get(i)) {
+				nodeChildren.add(nodes.get(index));
+			}
+			nodes.get(i).setChildren(nodeChildren);
+		}
+		List<Artifact> artifacts = new ArrayList<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			artifacts.add(readArtifact(in));
+		}
+		Map<File, Long> timestamps = new LinkedHashMap<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			timestamps.put(readFile(in), in.readLong());
+		}
+		return new RootGraph(artifact, List.copyOf(nodes), List.copyOf(artifacts), timestamps);
+	}
+
+	private static void writeArtifactBundles(DataOutputStream out, ArtifactBundles bundles) throws IOException {
+		out.writeLong(bundles.timestamp());
+		writeFile(out, bundles.featureFile());
+		MavenTargetBundle bundle = bundles.bundle();
+		out.writeBoolean(bundle != null);
+		if (bundle != null) {
+			writeFile(out, Paths.get(bundle.getBundleInfo().getLocation()).toFile());
+			out.writeBoolean(bundle.isWrapped());
+			MavenSourceBundle sourceBundle = bundles.sourceBundle();
+			out.writeBoolean(sourceBundle != null);
+			if (sourceBundle != null) {
+				// the source bundle is only generated when it is used
+				writeArtifact(out, bundles.sourceArtifact());
+			}
+		}
+	}
+
+	/**
+	 * @return the bundles or <code>null</code> if one of their files does not
+	 *         exist anymore
+	 */
+	private static ArtifactBundles readArtifactBundles(DataInputStream in, Artifact artifact,
+			CacheManager cacheManager) throws IOException {
+		long timestamp = in.readLong();
+		File featureFile = readFile(in);
+		if (!in.readBoolean()) {
+			if (featureFile != null && !featureFile.isFile()) {
+				return null;
+			}
+			return new ArtifactBundles(timestamp, featureFile, null, null, null);
+		}
+		File bundleFile = readFile(in);
+		boolean isWrapped = in.readBoolean();
+		Artifact sourceArtifact = in.readBoolean() ? readArtifact(in) : null;
+		if (!bundleFile.exists() || (sourceArtifact != null && !sourceArtifact.getFile().isFile())) {
+			return null;
+		}
+		try {
+			MavenTargetBundle bundle = new MavenTargetBundle(artifact, bundleFile, isWrapped);
+			MavenSourceBundle sourceBundle = null;
+			if (sourceArtifact != null) {
+				sourceBundle = new MavenSourceBundle(bundle.getBundleInfo(), sourceArtifact, cacheManager);
+			}
+			return new ArtifactBundles(timestamp, featureFile, bundle, sourceArtifact, sourceBundle);
+		} catch (CoreException | IOException e) {
+			return null;
+		}
+	}
+
+	private static void writeArtifact(DataOutputStream out, Artifact artifact) throws IOException {
+		out.writeUTF(artifact.getGroupId());
+		out.writeUTF(artifact.getArtifactId());
+		out.writeUTF(artifact.getClassifier());
+		out.writeUTF(artifact.getExtension());
+		out.writeUTF(artifact.getVersion());
+		writeFile(out, artifact.getFile());
+		Map<String, String> properties = artifact.getProperties();
+		out.writeInt(properties.size());
+		for (Entry<String, String> property : properties.entrySet()) {
+			out.writeUTF(property.getKey());
+			out.writeUTF(property.getValue());
+		}
+	}
+
+	private static Artifact readArtifact(DataInputStream in) throws IOException {
+		String groupId = in.readUTF();
+		String artifactId = in.readUTF();
+		String classifier = in.readUTF();
+		String extension = in.readUTF();
+		String version = in.readUTF();
+		File file = readFile(in);
+		Map<String, String> properties = new HashMap<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			properties.put(in.readUTF(), in.readUTF());
+		}
+		return new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties, file);
+	}
+
+	private static void writeFile(DataOutputStream out, File file) throws IOException {
+		out.writeUTF(file == null ? "" : file.getPath());
+	}
+
+	private static File readFile(DataInputStream in) throws IOException {
+		String path = in.readUTF();
+		return path.isEmpty() ? null : new File(path);
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		List<String> strings = new ArrayList<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			strings.add(in.readUTF());
+		}
+		return strings;
+	}
+
+	/**
+	 * @return copies of the given nodes, that are listed in preorder, that neither
+	 *         share their children nor their data with the given nodes and do not
+	 *         reference the location and dependency they belonged to
+	 */
+	private static List<DependencyNode> copyNodes(List<DependencyNode> nodes) {
+		Map<DependencyNode, DependencyNode> copies = new IdentityHashMap<>();
+		for (DependencyNode node : nodes) {
+			DefaultDependencyNode copy = new DefaultDependencyNode(node);
+			Map<Object, Object> data = new HashMap<>(node.getData());
+			data.remove(MavenTargetLocation.DEPENDENCYNODE_PARENT);
+			data.remove(MavenTargetLocation.DEPENDENCYNODE_ROOT);
+			copy.setData(data);
+			copies.put(node, copy);
+		}
+		List<DependencyNode> copiedNodes = new ArrayList<>(nodes.size());
+		for (DependencyNode node : nodes) {
+			DependencyNode copy = copies.get(node);
+			List<DependencyNode> children = new ArrayList<>();
+			for (DependencyNode child : node.getChildren()) {
+				children.add(copies.getOrDefault(child, child));
+			}
+			copy.setChildren(children);
+			copiedNodes.add(copy);
+		}
+		return Collections.unmodifiableList(copiedNodes);
+	}
+
+	private static boolean isUnchanged(Map<File, Long> timestamps) {
+		return timestamps.entrySet().stream().allMatch(e -> e.getKey().lastModified() == e.getValue());
+	}
+
+	private static <K, V> Map<K, V> lruMap(int maxSize) {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+}
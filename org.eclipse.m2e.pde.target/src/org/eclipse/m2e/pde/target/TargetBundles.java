@@ -13,31 +13,48 @@
 package org.eclipse.m2e.pde.target;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.m2e.pde.target.ResolutionCache.ArtifactKey;
+import org.eclipse.m2e.pde.target.ResolutionCache.RootKey;
 import org.eclipse.pde.core.target.TargetBundle;
 import org.eclipse.pde.core.target.TargetFeature;
 
 /**
- * represents a resolved set of {@link Artifact} -> {@link TargetBundle}
+ * represents a resolved set of {@link Artifact} -> {@link TargetBundle}, it is
+ * filled concurrently by the threads resolving the roots of a location
  */
 class TargetBundles {
-	private final Map<Artifact, TargetBundle> bundles = new HashMap<>();
-	private final Map<File, Artifact> artifacts = new HashMap<>();
-	private final Map<Artifact, MavenSourceBundle> sourceBundles = new HashMap<>();
-	final Set<Artifact> ignoredArtifacts = new HashSet<>();
-	final List<TargetFeature> features = new ArrayList<>();
-	final Map<MavenTargetDependency, List<DependencyNode>> dependencyNodes = new HashMap<>();
+	private final Map<Artifact, TargetBundle> bundles = new ConcurrentHashMap<>();
+	private final Map<File, Artifact> artifacts = new ConcurrentHashMap<>();
+	private final Map<Artifact, MavenSourceBundle> sourceBundles = new ConcurrentHashMap<>();
+	private final Set<Artifact> claimedArtifacts = ConcurrentHashMap.newKeySet();
+	final Set<Artifact> ignoredArtifacts = ConcurrentHashMap.newKeySet();
+	final List<TargetFeature> features = new CopyOnWriteArrayList<>();
+	final Map<MavenTargetDependency, List<DependencyNode>> dependencyNodes = new ConcurrentHashMap<>();
+	/**
+	 * the keys of the entries of the {@link ResolutionCache} used for these
+	 * bundles, see
+	 * {@link CacheManager#storeResolution(MavenTargetLocation, TargetBundles)}
+	 */
+	final Set<RootKey> resolvedRoots = ConcurrentHashMap.newKeySet();
+	final Set<ArtifactKey> resolvedArtifacts = ConcurrentHashMap.newKeySet();
+	/**
+	 * the errors of the features that could not be loaded when they were accessed
+	 * first, i.e. after the location was resolved
+	 */
+	final List<IStatus> featureErrors = new CopyOnWriteArrayList<>();
+	private final Set<Artifact> failedFeatureArtifacts = ConcurrentHashMap.newKeySet();
 
 	Optional<DependencyNode> getDependencyNode(Artifact artifact) {
 		return dependencyNodes.values().stream().flatMap(List::stream)
@@ -65,6 +82,14 @@ class TargetBundles {
 		return Optional.empty();
 	}
 
+	/**
+	 * @return <code>true</code> if the bundle of the given artifact is not created
+	 *         yet for these bundles, e.g. for another root depending on it
+	 */
+	boolean claimArtifact(Artifact artifact) {
+		return claimedArtifacts.add(artifact);
+	}
+
 	public void addBundle(Artifact artifact, TargetBundle bundle) {
 		bundles.put(artifact, bundle);
 		File file = artifact.getFile();
@@ -73,10 +98,33 @@ class TargetBundles {
 		}
 	}
 
+	/**
+	 * @param artifact the pom the feature was generated from or <code>null</code>
+	 *                 for the feature generated from the template of the location
+	 */
+	void addFeatureError(Artifact artifact, IStatus status) {
+		if (artifact != null) {
+			failedFeatureArtifacts.add(artifact);
+		}
+		featureErrors.add(status);
+	}
+
+	boolean isFeatureFailed(Artifact artifact) {
+		return failedFeatureArtifacts.contains(artifact);
+	}
+
 	public void addSourceBundle(Artifact artifact, MavenSourceBundle sourceBundle) {
 		sourceBundles.put(artifact, sourceBundle);
 	}
 
+	/**
+	 * Generates the source bundles in the background, see
+	 * {@link MavenSourceBundle#prefetch()}
+	 */
+	void prefetchSourceBundles() {
+		sourceBundles.values().forEach(MavenSourceBundle::prefetch);
+	}
+
 	public Stream<Entry<Artifact, TargetBundle>> bundles() {
 		return bundles.entrySet().stream();
 	}
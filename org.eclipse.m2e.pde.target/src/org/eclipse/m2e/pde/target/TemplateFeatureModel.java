@@ -16,8 +16,12 @@ import java.io.ByteArrayInputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.pde.internal.core.NLResourceHelper;
 import org.eclipse.pde.internal.core.feature.AbstractFeatureModel;
 import org.eclipse.pde.internal.core.feature.Feature;
@@ -30,8 +34,12 @@ import org.eclipse.pde.internal.core.ifeature.IFeature;
 public final class TemplateFeatureModel extends AbstractFeatureModel {
 
 	private static final long serialVersionUID = 1L;
+	private static final ILog LOGGER = Platform.getLog(TemplateFeatureModel.class);
+
 	private String xml;
 	private boolean editable = true;
+	private FeatureGenerator generator;
+	private Consumer<IStatus> errorHandler;
 
 	public TemplateFeatureModel(IFeature template) {
 		if (template != null) {
@@ -43,6 +51,20 @@ public final class TemplateFeatureModel extends AbstractFeatureModel {
 		}
 	}
 
+	/**
+	 * Creates a model that is only loaded when its feature is accessed first, the
+	 * generator then completes the feature loaded from the template and the model
+	 * is made read-only.
+	 *
+	 * @param errorHandler is given the error if the feature could not be loaded
+	 *                     or generated
+	 */
+	TemplateFeatureModel(IFeature template, FeatureGenerator generator, Consumer<IStatus> errorHandler) {
+		this(template);
+		this.generator = generator;
+		this.errorHandler = errorHandler;
+	}
+
 	@Override
 	public synchronized void load() throws CoreException {
 		if (xml != null && isEditable()) {
@@ -68,13 +90,32 @@ public final class TemplateFeatureModel extends AbstractFeatureModel {
 	}
 
 	@Override
-	public IFeature getFeature() {
+	public synchronized IFeature getFeature() {
 		if (feature == null) {
 			feature = new TemplateFeature(this);
+			if (generator != null) {
+				FeatureGenerator featureGenerator = generator;
+				generator = null;
+				try {
+					load();
+					featureGenerator.generate(feature);
+				} catch (CoreException e) {
+					LOGGER.log(e.getStatus());
+					errorHandler.accept(e.getStatus());
+				}
+				makeReadOnly();
+			}
 		}
 		return feature;
 	}
 
+	/**
+	 * completes the feature loaded from the template
+	 */
+	interface FeatureGenerator {
+		void generate(IFeature feature) throws CoreException;
+	}
+
 	private static final class TemplateFeature extends Feature {
 
 		public TemplateFeature(TemplateFeatureModel templateFeatureModel) {
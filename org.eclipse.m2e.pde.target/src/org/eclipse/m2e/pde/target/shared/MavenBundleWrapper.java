@@ -18,13 +18,18 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.jar.Manifest;
 import java.util.regex.Pattern;
@@ -39,14 +44,13 @@ import org.eclipse.aether.SyncContext;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.graph.Dependency;
-import org.eclipse.aether.graph.DependencyFilter;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.graph.DependencyVisitor;
 import org.eclipse.aether.impl.SyncContextFactory;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
-import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.m2e.pde.target.shared.ProcessingMessage.Type;
 import org.osgi.framework.Constants;
@@ -70,9 +74,31 @@ import aQute.bnd.version.Version;
  * </ul>
  */
 public class MavenBundleWrapper {
+	/**
+	 * runs the analysis of the jars, bounded to the number of processors as it is
+	 * CPU bound. The tasks also read and write jars and wait for the locks of their
+	 * artifacts, so they must not block the threads of the common pool.
+	 */
+	private static final Executor EXECUTOR = createExecutor();
+
 	private MavenBundleWrapper() {
 	}
 
+	private static Executor createExecutor() {
+		int threads = Runtime.getRuntime().availableProcessors();
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "MavenBundleWrapper-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					thread.setContextClassLoader(MavenBundleWrapper.class.getClassLoader());
+					return thread;
+				});
+		// the threads are only kept while artifacts are wrapped
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	/**
 	 * Wraps an artifact (and possible its dependents if required) to produce a
 	 * manifest with OSGi metadata.
@@ -84,7 +110,7 @@ public class MavenBundleWrapper {
 	 * @param repoSystem         the repository system for lookup dependent items
 	 * @param repositorySession  the session to use
 	 * @param syncContextFactory the sync context factory to acquire exclusive
-	 *                           access to the wrapped artifact and its dependencies
+	 *                           access to each artifact while it is wrapped
 	 * @return the wrapped artifact
 	 * @throws Exception if wrapping the artifact fails for any reason
 	 */
@@ -97,93 +123,149 @@ public class MavenBundleWrapper {
 		collectRequest.setRepositories(repositories);
 		DependencyNode node = repoSystem.collectDependencies(repositorySession, collectRequest).getRoot();
 
-		DependencyRequest dependencyRequest = new DependencyRequest();
-		dependencyRequest.setRoot(node);
-		dependencyRequest.setFilter(new DependencyFilter() {
+		resolveArtifacts(node, repositories, repoSystem, repositorySession);
+
+		Map<DependencyNode, CompletableFuture<WrappedBundle>> visited = new ConcurrentHashMap<>();
+		try {
+			return getWrappedNode(node, instructionsLookup, repositorySession, syncContextFactory, visited).join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception exception) {
+				throw exception;
+			}
+			throw e;
+		} finally {
+			// all nodes are done once the root is, as they are its dependencies
+			for (CompletableFuture<WrappedBundle> wrap : visited.values()) {
+				if (!wrap.isCompletedExceptionally()) {
+					wrap.join().getJar().ifPresent(jar -> jar.close());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolves the artifacts of all nodes of the given graph in one request, nodes
+	 * whose artifact cannot be resolved keep their artifact without a file.
+	 */
+	private static void resolveArtifacts(DependencyNode root, List<RemoteRepository> repositories,
+			RepositorySystem repoSystem, RepositorySystemSession repositorySession) {
+		List<ArtifactRequest> requests = new ArrayList<>();
+		root.accept(new DependencyVisitor() {
 
 			@Override
-			public boolean accept(DependencyNode node, List<DependencyNode> parents) {
-				ArtifactRequest request = new ArtifactRequest();
-				request.setRepositories(repositories);
-				Artifact nodeArtifact = node.getArtifact();
-				request.setArtifact(nodeArtifact);
-				try {
-					repoSystem.resolveArtifact(repositorySession, request);
-				} catch (ArtifactResolutionException e) {
-					return false;
+			public boolean visitEnter(DependencyNode node) {
+				if (node.getArtifact() != null) {
+					ArtifactRequest request = new ArtifactRequest(node.getArtifact(), repositories, null);
+					request.setDependencyNode(node);
+					requests.add(request);
 				}
 				return true;
 			}
+
+			@Override
+			public boolean visitLeave(DependencyNode node) {
+				return true;
+			}
 		});
-		repoSystem.resolveDependencies(repositorySession, dependencyRequest);
+		List<ArtifactResult> results;
+		try {
+			results = repoSystem.resolveArtifacts(repositorySession, requests);
+		} catch (ArtifactResolutionException e) {
+			// the artifacts that cannot be resolved are reported when their node is wrapped
+			results = e.getResults();
+		}
+		for (ArtifactResult result : results) {
+			if (result.isResolved()) {
+				result.getRequest().getDependencyNode().setArtifact(result.getArtifact());
+			}
+		}
+	}
 
-		try (SyncContext syncContext = syncContextFactory.newInstance(repositorySession, false)) {
-			Set<Artifact> lockList = new HashSet<>();
-			node.accept(new DependencyVisitor() {
+	/**
+	 * The jar of a node that needs to be wrapped, or the bundle of a node that
+	 * does not.
+	 */
+	private record NodeJar(Jar jar, WrappedBundle bundle) {
+	}
 
-				@Override
-				public boolean visitLeave(DependencyNode n) {
-					return true;
+	/**
+	 * Wraps the given node once all of its dependencies are wrapped, independent
+	 * dependencies are wrapped concurrently.
+	 */
+	private static CompletableFuture<WrappedBundle> getWrappedNode(DependencyNode node,
+			Function<DependencyNode, Properties> instructionsLookup, RepositorySystemSession repositorySession,
+			SyncContextFactory syncContextFactory, Map<DependencyNode, CompletableFuture<WrappedBundle>> visited) {
+		CompletableFuture<WrappedBundle> wrappedNode = new CompletableFuture<>();
+		CompletableFuture<WrappedBundle> existing = visited.putIfAbsent(node, wrappedNode);
+		if (existing != null) {
+			return existing;
+		}
+		CompletableFuture.supplyAsync(() -> openNode(node), EXECUTOR).thenCompose(nodeJar -> {
+			if (nodeJar.bundle() != null) {
+				return CompletableFuture.completedFuture(nodeJar.bundle());
+			}
+			List<CompletableFuture<WrappedBundle>> depends = node.getChildren().stream().map(
+					child -> getWrappedNode(child, instructionsLookup, repositorySession, syncContextFactory, visited))
+					.toList();
+			return CompletableFuture.allOf(depends.toArray(CompletableFuture[]::new)).handle((v, e) -> {
+				if (e != null) {
+					nodeJar.jar().close();
+					throw e instanceof CompletionException completion ? completion : new CompletionException(e);
 				}
-
-				@Override
-				public boolean visitEnter(DependencyNode n) {
-					lockList.add(n.getArtifact());
-					return true;
+				try {
+					return wrapNode(node, nodeJar.jar(), depends.stream().map(CompletableFuture::join).toList(),
+							instructionsLookup, repositorySession, syncContextFactory);
+				} catch (Exception ex) {
+					throw new CompletionException(ex);
 				}
 			});
-			syncContext.acquire(lockList, null);
-			Map<DependencyNode, WrappedBundle> visited = new HashMap<>();
-			WrappedBundle wrappedNode = getWrappedNode(node, instructionsLookup, visited);
-			for (WrappedBundle wrap : visited.values()) {
-				wrap.getJar().ifPresent(jar -> jar.close());
+		}).whenComplete((bundle, e) -> {
+			if (e != null) {
+				wrappedNode.completeExceptionally(e);
+			} else {
+				wrappedNode.complete(bundle);
 			}
-			return wrappedNode;
-		}
+		});
+		return wrappedNode;
 	}
 
-	private static WrappedBundle getWrappedNode(DependencyNode node,
-			Function<DependencyNode, Properties> instructionsLookup, Map<DependencyNode, WrappedBundle> visited)
-			throws Exception {
-		WrappedBundle wrappedNode = visited.get(node);
-		if (wrappedNode != null) {
-			return wrappedNode;
-		}
+	private static NodeJar openNode(DependencyNode node) {
 		Artifact artifact = node.getArtifact();
 		File originalFile = artifact.getFile();
 		if (originalFile == null) {
 			if (node.getDependency().isOptional()) {
-				visited.put(node,
-						wrappedNode = new WrappedBundle(node, List.of(), null, null, null,
-								List.of(new ProcessingMessage(artifact, Type.WARN,
-										"Optional artifact " + node.getArtifact() + " was not found"))));
-			} else {
-				visited.put(node, wrappedNode = new WrappedBundle(node, List.of(), null, null, null, List.of(
-						new ProcessingMessage(artifact, Type.ERROR, "Artifact " + node.getArtifact() + " not found"))));
+				return new NodeJar(null, new WrappedBundle(node, List.of(), null, null, null, List.of(
+						new ProcessingMessage(artifact, Type.WARN, "Optional artifact " + artifact + " was not found"))));
 			}
-			return wrappedNode;
-		}
-		Jar jar = new Jar(originalFile);
-		Manifest originalManifest = jar.getManifest();
-		if (originalManifest != null
-				&& originalManifest.getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME) != null) {
-			// already a bundle!
-			visited.put(node,
-					wrappedNode = new WrappedBundle(node, List.of(), null, originalFile.toPath(), jar, List.of()));
-			return wrappedNode;
+			return new NodeJar(null, new WrappedBundle(node, List.of(), null, null, null,
+					List.of(new ProcessingMessage(artifact, Type.ERROR, "Artifact " + artifact + " not found"))));
 		}
-		List<DependencyNode> children = node.getChildren();
-		List<WrappedBundle> depends = new ArrayList<>();
-		for (DependencyNode child : children) {
-			depends.add(getWrappedNode(child, instructionsLookup, visited));
-		}
-		WrappedBundle wrappedNodeAfterVisit = visited.get(node);
-		if (wrappedNodeAfterVisit != null) {
-			return wrappedNodeAfterVisit;
+		try {
+			Jar jar = new Jar(originalFile);
+			Manifest originalManifest = jar.getManifest();
+			if (originalManifest != null
+					&& originalManifest.getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME) != null) {
+				// already a bundle!
+				return new NodeJar(null, new WrappedBundle(node, List.of(), null, originalFile.toPath(), jar, List.of()));
+			}
+			return new NodeJar(jar, null);
+		} catch (Exception e) {
+			throw new CompletionException(e);
 		}
+	}
+
+	private static WrappedBundle wrapNode(DependencyNode node, Jar jar, List<WrappedBundle> depends,
+			Function<DependencyNode, Properties> instructionsLookup, RepositorySystemSession repositorySession,
+			SyncContextFactory syncContextFactory) throws Exception {
+		Artifact artifact = node.getArtifact();
+		File originalFile = artifact.getFile();
 		Properties instructions = instructionsLookup.apply(node);
 		String key = getInstructionsKey(instructions, depends);
-		try (Jar analyzerJar = jar) {
+		try (Jar analyzerJar = jar; SyncContext syncContext = syncContextFactory.newInstance(repositorySession, false)) {
+			// only this artifact is locked while its wrapped jar is checked and written,
+			// so other wrappings of the graph can proceed concurrently
+			syncContext.acquire(List.of(artifact), null);
 			// now we know the key and the depends we enter the critical section of checking
 			// if the data is already there or needs to be refreshed
 			File parent = new File(originalFile.getParent(), "bnd-" + key);
@@ -231,18 +313,13 @@ public class MavenBundleWrapper {
 				}
 				if (hasErrors) {
 					Files.deleteIfExists(wrapArtifactFile.toPath());
-					visited.put(node, wrappedNode = new WrappedBundle(node, depends, key, null, null, messages));
-				} else {
-					Files.setLastModifiedTime(wrapArtifactFile.toPath(),
-							Files.getLastModifiedTime(originalFile.toPath()));
-					visited.put(node, wrappedNode = new WrappedBundle(node, depends, key, wrapArtifactFile.toPath(),
-							new Jar(wrapArtifactFile), messages));
+					return new WrappedBundle(node, depends, key, null, null, messages);
 				}
-			} else {
-				visited.put(node, wrappedNode = new WrappedBundle(node, depends, key, wrapArtifactFile.toPath(),
-						new Jar(wrapArtifactFile), List.of()));
+				Files.setLastModifiedTime(wrapArtifactFile.toPath(), Files.getLastModifiedTime(originalFile.toPath()));
+				return new WrappedBundle(node, depends, key, wrapArtifactFile.toPath(), new Jar(wrapArtifactFile),
+						messages);
 			}
-			return wrappedNode;
+			return new WrappedBundle(node, depends, key, wrapArtifactFile.toPath(), cached, List.of());
 		}
 	}
 
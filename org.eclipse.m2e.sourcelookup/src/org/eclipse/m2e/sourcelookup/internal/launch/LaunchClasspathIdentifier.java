@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.sourcelookup.internal.launch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.ILaunchesListener2;
+import org.eclipse.jdt.launching.IRuntimeClasspathEntry;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.internal.MavenArtifactIdentifier;
+
+/**
+ * Identifies the runtime classpath of each running launch in bulk, when the
+ * first classes location is looked up while it runs. The debugger asks for the
+ * source containers of one classes location at a time, the other locations of
+ * the launch are then already identified in parallel when it asks for them.
+ * The results are dropped once the launch terminates.
+ */
+final class LaunchClasspathIdentifier implements ILaunchesListener2 {
+
+	private static final LaunchClasspathIdentifier INSTANCE = new LaunchClasspathIdentifier();
+
+	private final Map<ILaunch, Map<File, CompletableFuture<Collection<ArtifactKey>>>> launches = //
+			new ConcurrentHashMap<>();
+
+	private LaunchClasspathIdentifier() {
+		DebugPlugin.getDefault().getLaunchManager().addLaunchListener(this);
+	}
+
+	/**
+	 * @return the artifacts of the given classes location, identified together
+	 *         with the classpath of the launch it belongs to if it is part of a
+	 *         running launch
+	 */
+	static Collection<ArtifactKey> identify(File classesLocation) {
+		return INSTANCE.identifyLocation(classesLocation);
+	}
+
+	private Collection<ArtifactKey> identifyLocation(File classesLocation) {
+		ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		for (ILaunch launch : launchManager.getLaunches()) {
+			if (!launch.isTerminated()) {
+				launches.computeIfAbsent(launch, LaunchClasspathIdentifier::identifyClasspath);
+			}
+		}
+		for (Map<File, CompletableFuture<Collection<ArtifactKey>>> identified : launches.values()) {
+			CompletableFuture<Collection<ArtifactKey>> artifacts = identified.get(classesLocation);
+			if (artifacts != null) {
+				try {
+					return artifacts.join();
+				} catch (CancellationException | CompletionException e) {
+					// e.g. the launch terminated meanwhile
+					break;
+				}
+			}
+		}
+		return MavenArtifactIdentifier.identify(classesLocation);
+	}
+
+	private static Map<File, CompletableFuture<Collection<ArtifactKey>>> identifyClasspath(ILaunch launch) {
+		ILaunchConfiguration configuration = launch.getLaunchConfiguration();
+		if (configuration == null) {
+			return Map.of();
+		}
+		List<File> locations = new ArrayList<>();
+		try {
+			IRuntimeClasspathEntry[] entries = JavaRuntime.resolveRuntimeClasspath(
+					JavaRuntime.computeUnresolvedRuntimeClasspath(configuration), configuration);
+			for (IRuntimeClasspathEntry entry : entries) {
+				// the classes of the JRE are not part of Maven artifacts
+				if (entry.getClasspathProperty() != IRuntimeClasspathEntry.BOOTSTRAP_CLASSES
+						&& entry.getLocation() != null) {
+					locations.add(new File(entry.getLocation()));
+				}
+			}
+		} catch (CoreException e) {
+			// e.g. not a Java launch, its locations are identified one at a time
+			return Map.of();
+		}
+		return MavenArtifactIdentifier.identifyAsync(locations);
+	}
+
+	@Override
+	public void launchesTerminated(ILaunch[] terminated) {
+		launchesRemoved(terminated);
+	}
+
+	@Override
+	public void launchesRemoved(ILaunch[] removed) {
+		for (ILaunch launch : removed) {
+			Map<File, CompletableFuture<Collection<ArtifactKey>>> identified = launches.remove(launch);
+			if (identified != null) {
+				identified.values().forEach(artifacts -> artifacts.cancel(false));
+			}
+		}
+	}
+
+	@Override
+	public void launchesAdded(ILaunch[] added) {
+		// the classpath is identified when the first location of a launch is looked up
+	}
+
+	@Override
+	public void launchesChanged(ILaunch[] changed) {
+		// nothing to do
+	}
+}
@@ -34,7 +34,7 @@ public class MavenSourceContainerResolver implements ISourceContainerResolver {
 
 	@Override
 	public Collection<ISourceContainer> resolveSourceContainers(File classesLocation, IProgressMonitor monitor) {
-		Collection<ArtifactKey> classesArtifacts = MavenArtifactIdentifier.identify(classesLocation);
+		Collection<ArtifactKey> classesArtifacts = LaunchClasspathIdentifier.identify(classesLocation);
 
 		if (classesArtifacts.isEmpty()) {
 			return List.of();